@@ -0,0 +1,60 @@
+package com.shiba.medical.benchmark;
+
+import com.shiba.medical.dto.AppointmentDTO;
+import com.shiba.medical.dto.AppointmentPage;
+import com.shiba.medical.service.AppointmentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Repository read plus convertToDTO mapping for the user-facing appointment lists
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AppointmentMappingBenchmark {
+    @Param({"100"})
+    public int doctors;
+
+    @Param({"100"})
+    public int users;
+
+    @Param({"10000", "100000"})
+    public int appointments;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private AppointmentService appointmentService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(doctors, users, appointments);
+        appointmentService = context.getBean(AppointmentService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AppointmentPage historyPage() {
+        return appointmentService.getUserAppointments(randomUser(), null, pageSize);
+    }
+
+    @Benchmark
+    public List<AppointmentDTO> upcoming() {
+        return appointmentService.getUpcomingAppointments(randomUser());
+    }
+
+    private long randomUser() {
+        return BenchmarkContext.userId(ThreadLocalRandom.current().nextInt(users));
+    }
+}
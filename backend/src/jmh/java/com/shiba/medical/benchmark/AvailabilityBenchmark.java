@@ -0,0 +1,62 @@
+package com.shiba.medical.benchmark;
+
+import com.shiba.medical.dto.AvailableSlotDTO;
+import com.shiba.medical.dto.DoctorAvailabilityDTO;
+import com.shiba.medical.service.TimeSlotService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AvailabilityBenchmark {
+    @Param({"100", "1000"})
+    public int doctors;
+
+    @Param({"10000"})
+    public int appointments;
+
+    private ConfigurableApplicationContext context;
+    private TimeSlotService timeSlotService;
+    private LocalDate today;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(doctors, 100, appointments);
+        timeSlotService = context.getBean(TimeSlotService.class);
+        today = LocalDate.now();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<LocalTime> availableTimeSlots() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long doctorId = BenchmarkContext.doctorId(random.nextInt(doctors));
+        return timeSlotService.getAvailableTimeSlots(doctorId, today.plusDays(random.nextInt(-30, 30)));
+    }
+
+    @Benchmark
+    public List<DoctorAvailabilityDTO> fieldWeekRange() {
+        long fieldId = 1 + ThreadLocalRandom.current().nextInt(6);
+        return timeSlotService.getAvailabilityRange(null, fieldId, today, today.plusDays(6));
+    }
+
+    @Benchmark
+    public List<AvailableSlotDTO> firstAvailableInField() {
+        long fieldId = 1 + ThreadLocalRandom.current().nextInt(6);
+        return timeSlotService.findFirstAvailable(fieldId, null, 10, false);
+    }
+}
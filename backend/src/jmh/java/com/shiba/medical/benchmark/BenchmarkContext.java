@@ -0,0 +1,106 @@
+package com.shiba.medical.benchmark;
+
+import com.shiba.medical.MedicalSchedulingApplication;
+import com.shiba.medical.service.AvailabilityEngine;
+import com.shiba.medical.service.ReferenceDataCache;
+import com.shiba.medical.service.SearchIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Boots the application against a private in-memory H2 database and seeds it to the
+// requested size. Seeded rows use ids from SEED_ID_BASE so they never collide with
+// rows created through JPA during a benchmark.
+public final class BenchmarkContext {
+    public static final long SEED_ID_BASE = 1_000_000L;
+    public static final int SLOTS_PER_DAY = 7;
+    private static final int[] SLOT_HOURS = {9, 10, 11, 13, 14, 15, 16};
+    public static final int FIELD_COUNT = 6;
+    private static final int INSERT_BATCH = 1_000;
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(int doctors, int users, int appointments, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:bench-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1",
+            "--spring.h2.console.enabled=false",
+            "--logging.level.root=WARN"));
+        args.addAll(List.of(extraArgs));
+        SpringApplication application = new SpringApplication(MedicalSchedulingApplication.class);
+        ConfigurableApplicationContext context = application.run(args.toArray(new String[0]));
+        seed(context.getBean(JdbcTemplate.class), doctors, users, appointments);
+        // Seeding bypasses JPA, so nothing cached during startup may survive it
+        context.getBean(EntityManagerFactory.class).getCache().evictAll();
+
+        context.getBean(AvailabilityEngine.class).rebuild();
+        context.getBean(SearchIndex.class).rebuild();
+        context.getBean(ReferenceDataCache.class).rebuild();
+        return context;
+    }
+
+    public static long doctorId(int index) {
+        return SEED_ID_BASE + index;
+    }
+
+    public static long userId(int index) {
+        return SEED_ID_BASE + index;
+    }
+
+    private static void seed(JdbcTemplate jdbc, int doctors, int users, int appointments) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < doctors; i++) {
+            rows.add(new Object[]{doctorId(i), "Dr. Bench " + i, (i % FIELD_COUNT) + 1, 1 + i % 30});
+        }
+        batch(jdbc, "INSERT INTO doctors (id, name, medical_field_id, experience_years) VALUES (?, ?, ?, ?)", rows);
+
+        rows.clear();
+        for (int i = 0; i < doctors; i++) {
+            for (int s = 0; s < SLOTS_PER_DAY; s++) {
+                LocalTime start = LocalTime.of(SLOT_HOURS[s], 0);
+                rows.add(new Object[]{SEED_ID_BASE + (long) i * SLOTS_PER_DAY + s, doctorId(i), start, start.plusHours(1), true});
+            }
+        }
+        batch(jdbc, "INSERT INTO time_slots (id, doctor_id, start_time, end_time, is_available) VALUES (?, ?, ?, ?, ?)", rows);
+
+        rows.clear();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < users; i++) {
+            rows.add(new Object[]{userId(i), "9" + String.format("%011d", i), "Bench User " + i, now, true});
+        }
+        batch(jdbc, "INSERT INTO users (id, phone, name, created_at, verified) VALUES (?, ?, ?, ?, ?)", rows);
+
+        // Appointment k lands on a unique (doctor, day, slot), half a year back to half a year ahead
+        rows.clear();
+        LocalDate firstDay = LocalDate.now().minusDays(182);
+        for (int k = 0; k < appointments; k++) {
+            int doctor = k % doctors;
+            int slot = (k / doctors) % SLOTS_PER_DAY;
+            int day = k / (doctors * SLOTS_PER_DAY);
+            Timestamp at = Timestamp.valueOf(firstDay.plusDays(day).atTime(SLOT_HOURS[slot], 0));
+            rows.add(new Object[]{SEED_ID_BASE + k, userId(k % users), doctorId(doctor), at, "SCHEDULED", at, now});
+            if (rows.size() == INSERT_BATCH) {
+                batch(jdbc, "INSERT INTO appointments (id, user_id, doctor_id, appointment_date, status, active_slot, created_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        batch(jdbc, "INSERT INTO appointments (id, user_id, doctor_id, appointment_date, status, active_slot, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private static void batch(JdbcTemplate jdbc, String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += INSERT_BATCH) {
+            jdbc.batchUpdate(sql, rows.subList(from, Math.min(from + INSERT_BATCH, rows.size())));
+        }
+    }
+}
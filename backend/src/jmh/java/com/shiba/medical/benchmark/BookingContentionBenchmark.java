@@ -0,0 +1,87 @@
+package com.shiba.medical.benchmark;
+
+import com.shiba.medical.dto.AppointmentDTO;
+import com.shiba.medical.dto.AppointmentRequest;
+import com.shiba.medical.service.AppointmentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Booking throughput under contention, swept over 1 to 16 threads (one method per thread
+// count, so a single run shows how throughput scales). hotDoctors=1 puts every booking on
+// one lock stripe, larger values spread them out. Narrow the sweep with e.g.
+// -Djmh.includes="BookingContentionBenchmark.book0[18]".
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BookingContentionBenchmark {
+    private static final int[] SLOT_HOURS = {9, 10, 11, 13, 14, 15, 16};
+
+    @Param({"1", "64"})
+    public int hotDoctors;
+
+    private ConfigurableApplicationContext context;
+    private AppointmentService appointmentService;
+    private LocalDate firstDay;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(Math.max(hotDoctors, 64), 64, 1);
+        appointmentService = context.getBean(AppointmentService.class);
+        // Far enough ahead to never meet a seeded appointment
+        firstDay = LocalDate.now().plusYears(2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public AppointmentDTO book01() {
+        return book();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public AppointmentDTO book02() {
+        return book();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public AppointmentDTO book04() {
+        return book();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public AppointmentDTO book08() {
+        return book();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public AppointmentDTO book16() {
+        return book();
+    }
+
+    private AppointmentDTO book() {
+        long k = sequence.getAndIncrement();
+        int doctor = (int) (k % hotDoctors);
+        long perDoctor = k / hotDoctors;
+        AppointmentRequest request = new AppointmentRequest();
+        request.setDoctorId(BenchmarkContext.doctorId(doctor));
+        request.setAppointmentDate(firstDay.plusDays(perDoctor / SLOT_HOURS.length)
+            .atTime(SLOT_HOURS[(int) (perDoctor % SLOT_HOURS.length)], 0));
+        return appointmentService.createAppointment(BenchmarkContext.userId((int) (k % 64)), request);
+    }
+}
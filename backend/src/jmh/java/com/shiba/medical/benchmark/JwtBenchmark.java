@@ -0,0 +1,72 @@
+package com.shiba.medical.benchmark;
+
+import com.shiba.medical.util.JwtPrincipal;
+import com.shiba.medical.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// legacyFilterPath reproduces the previous filter: four parses, each rebuilding key and parser
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtBenchmark {
+    private static final String SECRET = "medical-scheduling-secret-key-change-in-production";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtil = newJwtUtil(10_000);
+        token = jwtUtil.generateToken(42L, "0501234567");
+    }
+
+    static JwtUtil newJwtUtil(int cacheSize) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secret", SECRET);
+        ReflectionTestUtils.setField(util, "expiration", 86_400_000L);
+        ReflectionTestUtils.setField(util, "cacheSize", cacheSize);
+        ReflectionTestUtils.invokeMethod(util, "init");
+        return util;
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateToken(42L, "0501234567");
+    }
+
+    @Benchmark
+    public String parseUncached() {
+        return jwtUtil.extractClaim(token, Claims::getSubject);
+    }
+
+    @Benchmark
+    public JwtPrincipal verifyCached() {
+        return jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public boolean legacyFilterPath() {
+        String phone = legacyClaims(token).getSubject();
+        Long userId = legacyClaims(token).get("userId", Long.class);
+        boolean valid = legacyClaims(token).getSubject().equals(phone)
+            && !legacyClaims(token).getExpiration().before(new Date());
+        return valid && userId != null;
+    }
+
+    private static Claims legacyClaims(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+}
@@ -0,0 +1,36 @@
+package com.shiba.medical.benchmark;
+
+import com.shiba.medical.util.TokenBucketLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Cost of an allowed request: capacity is high enough that nothing is rejected
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RateLimiterBenchmark {
+    @Param({"1000", "100000"})
+    public int keys;
+
+    private TokenBucketLimiter limiter;
+    private String[] phones;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        limiter = new TokenBucketLimiter(Integer.MAX_VALUE / 2, Integer.MAX_VALUE / 2, keys * 2);
+        phones = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            phones[i] = "send:05" + String.format("%08d", i);
+        }
+    }
+
+    @Benchmark
+    public boolean tryAcquire() {
+        return limiter.tryAcquire(phones[ThreadLocalRandom.current().nextInt(keys)]);
+    }
+}
@@ -0,0 +1,90 @@
+package com.shiba.medical.benchmark;
+
+import com.shiba.medical.model.Doctor;
+import com.shiba.medical.repository.DoctorRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// The reference-data reads requests actually make, with the second-level and query cache on and
+// off: booking loads the doctor and its field by id, the per-field availability endpoints load
+// the field's doctor ids and summaries. Statements per operation are printed after each iteration.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ReferenceDataCacheBenchmark {
+    @Param({"1000"})
+    public int doctors;
+
+    @Param({"true", "false"})
+    public boolean secondLevelCache;
+
+    private ConfigurableApplicationContext context;
+    private DoctorRepository doctorRepository;
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private final LongAdder operations = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(doctors, 10, 0, "--spring.profiles.active=hibernate-stats",
+            "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+            "--spring.jpa.properties.hibernate.cache.use_query_cache=" + secondLevelCache);
+        doctorRepository = context.getBean(DoctorRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounters() {
+        statistics.clear();
+        operations.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportCounters() {
+        long ops = Math.max(1, operations.sum());
+        System.out.printf("%n  statements/op=%.2f  L2 hit ratio=%.2f%n",
+            (double) statistics.getPrepareStatementCount() / ops,
+            ratio(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int bookingReferenceReads() {
+        long doctorId = BenchmarkContext.doctorId(ThreadLocalRandom.current().nextInt(doctors));
+        Integer length = transactionTemplate.execute(status -> {
+            Doctor doctor = doctorRepository.findById(doctorId).orElseThrow();
+            return doctor.getName().length() + doctor.getMedicalField().getName().length();
+        });
+        operations.increment();
+        return length;
+    }
+
+    @Benchmark
+    public int fieldReferenceReads() {
+        long fieldId = 1 + ThreadLocalRandom.current().nextInt(BenchmarkContext.FIELD_COUNT);
+        int size = doctorRepository.findIdsByMedicalFieldId(fieldId).size()
+            + doctorRepository.findSummariesByMedicalFieldId(fieldId).size();
+        operations.increment();
+        return size;
+    }
+
+    private static double ratio(long hits, long misses) {
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+}
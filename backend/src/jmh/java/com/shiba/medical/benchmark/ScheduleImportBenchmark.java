@@ -0,0 +1,88 @@
+package com.shiba.medical.benchmark;
+
+import com.shiba.medical.dto.DoctorScheduleRequest;
+import com.shiba.medical.dto.ScheduleImportResult;
+import com.shiba.medical.service.AvailabilityEngine;
+import com.shiba.medical.service.ScheduleService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Onboarding a whole hospital's weekly schedules in one call, then the first 31-day
+// availability read for every doctor (which rebuilds their calendars from the templates)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ScheduleImportBenchmark {
+    @Param({"1000", "5000"})
+    public int doctors;
+
+    private ConfigurableApplicationContext context;
+    private ScheduleService scheduleService;
+    private AvailabilityEngine availabilityEngine;
+    private List<DoctorScheduleRequest> requests;
+    private List<Long> doctorIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(doctors, 1, 0);
+        scheduleService = context.getBean(ScheduleService.class);
+        availabilityEngine = context.getBean(AvailabilityEngine.class);
+        doctorIds = IntStream.range(0, doctors).mapToObj(BenchmarkContext::doctorId).toList();
+
+        // Weekday mornings and afternoons in 20-minute slots, Saturday mornings for every other doctor
+        requests = new ArrayList<>();
+        for (int i = 0; i < doctors; i++) {
+            DoctorScheduleRequest request = new DoctorScheduleRequest();
+            request.setDoctorId(BenchmarkContext.doctorId(i));
+            List<DoctorScheduleRequest.WeeklyHours> hours = new ArrayList<>();
+            for (DayOfWeek day : DayOfWeek.values()) {
+                if (day.getValue() <= 5) {
+                    hours.add(hours(day, 8, 12));
+                    hours.add(hours(day, 13, 17));
+                } else if (day == DayOfWeek.SATURDAY && i % 2 == 0) {
+                    hours.add(hours(day, 9, 12));
+                }
+            }
+            request.setHours(hours);
+            requests.add(request);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ScheduleImportResult importSchedules() {
+        return scheduleService.replaceWeeklySchedules(requests);
+    }
+
+    @Benchmark
+    public Map<Long, Map<LocalDate, List<LocalTime>>> importThenReadMonth() {
+        scheduleService.replaceWeeklySchedules(requests);
+        LocalDate today = LocalDate.now();
+        return availabilityEngine.getAvailability(doctorIds, today, today.plusDays(30));
+    }
+
+    private static DoctorScheduleRequest.WeeklyHours hours(DayOfWeek day, int fromHour, int toHour) {
+        DoctorScheduleRequest.WeeklyHours hours = new DoctorScheduleRequest.WeeklyHours();
+        hours.setDayOfWeek(day);
+        hours.setStartTime(LocalTime.of(fromHour, 0));
+        hours.setEndTime(LocalTime.of(toHour, 0));
+        hours.setSlotMinutes(20);
+        return hours;
+    }
+}
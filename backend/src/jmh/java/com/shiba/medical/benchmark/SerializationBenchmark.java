@@ -0,0 +1,63 @@
+package com.shiba.medical.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shiba.medical.dto.AppointmentDTO;
+import com.shiba.medical.dto.DoctorDTO;
+import com.shiba.medical.model.Appointment;
+import com.shiba.medical.service.DoctorService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialization through the ObjectMapper configured in JacksonConfig
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SerializationBenchmark {
+    @Param({"20", "100"})
+    public int listSize;
+
+    @Param({"100", "1000"})
+    public int doctors;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private List<AppointmentDTO> appointments;
+    private List<DoctorDTO> doctorList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(doctors, 1, 1);
+        objectMapper = context.getBean(ObjectMapper.class);
+        doctorList = context.getBean(DoctorService.class).getAllDoctors();
+
+        appointments = new ArrayList<>(listSize);
+        LocalDateTime base = LocalDateTime.now().withNano(0);
+        for (int i = 0; i < listSize; i++) {
+            appointments.add(new AppointmentDTO((long) i, 1L, "Dr. Sarah Johnson", 1L, "Cardiology",
+                base.plusDays(i), Appointment.AppointmentStatus.SCHEDULED, "Follow-up visit", base));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] appointmentList() throws Exception {
+        return objectMapper.writeValueAsBytes(appointments);
+    }
+
+    @Benchmark
+    public byte[] doctorList() throws Exception {
+        return objectMapper.writeValueAsBytes(doctorList);
+    }
+}
@@ -0,0 +1,52 @@
+package com.shiba.medical.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Samples heap and platform-thread usage of the embedded run once a second. Virtual threads
+// are not platform threads, so comparing the two threading modes shows up directly here.
+final class JvmSampler {
+    private static final long MB = 1024 * 1024;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "loadtest-jvm-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile long peakHeapUsed;
+    private volatile long peakNonHeapUsed;
+
+    private JvmSampler() {
+    }
+
+    static JvmSampler start() {
+        JvmSampler jvm = new JvmSampler();
+        jvm.threads.resetPeakThreadCount();
+        jvm.sampler.scheduleAtFixedRate(jvm::sample, 0, 1, TimeUnit.SECONDS);
+        return jvm;
+    }
+
+    Map<String, Object> stop() {
+        sampler.shutdownNow();
+        sample();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("peakPlatformThreads", threads.getPeakThreadCount());
+        result.put("platformThreads", threads.getThreadCount());
+        result.put("peakHeapUsedMb", peakHeapUsed / MB);
+        result.put("peakNonHeapUsedMb", peakNonHeapUsed / MB);
+        return result;
+    }
+
+    private void sample() {
+        peakHeapUsed = Math.max(peakHeapUsed, memory.getHeapMemoryUsage().getUsed());
+        peakNonHeapUsed = Math.max(peakNonHeapUsed, memory.getNonHeapMemoryUsage().getUsed());
+    }
+}
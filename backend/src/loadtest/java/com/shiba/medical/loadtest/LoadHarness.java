@@ -0,0 +1,358 @@
+package com.shiba.medical.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shiba.medical.MedicalSchedulingApplication;
+import com.shiba.medical.loadtest.TrafficProfile.Operation;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Drives booking, availability and login traffic against the running application over
+// real HTTP and reports per-operation latency percentiles and error counts.
+//
+// Without -Dloadtest.baseUrl the application is started in-process on a random port with
+// a private H2 database and relaxed OTP rate limits, so the run needs no external services.
+// Each worker is a chain of non-blocking HttpClient calls, so concurrency is the number of
+// requests in flight rather than the number of threads.
+public final class LoadHarness {
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final int[] SLOT_HOURS = {9, 10, 11, 13, 14, 15, 16};
+    private static final String CONFLICT_MESSAGE = "already booked";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient client;
+    private final ExecutorService executor;
+    private final String baseUrl;
+    private final TrafficProfile profile;
+    private final int bookingDays;
+
+    private final List<Long> doctorIds = new ArrayList<>();
+    private final List<Session> sessions = new ArrayList<>();
+    // Live bookings the harness knows about, keyed by doctor and slot. A second successful
+    // booking for a key that is still live means the server double-booked.
+    private final Map<String, Long> liveSlots = new ConcurrentHashMap<>();
+    private volatile LoadStats stats = new LoadStats();
+
+    private LoadHarness(String baseUrl, TrafficProfile profile, int bookingDays, int ioThreads) {
+        this.baseUrl = baseUrl;
+        this.profile = profile;
+        this.bookingDays = bookingDays;
+        this.executor = Executors.newFixedThreadPool(ioThreads);
+        this.client = HttpClient.newBuilder()
+            .executor(executor)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("loadtest.baseUrl", "");
+        TrafficProfile profile = TrafficProfile.valueOf(
+            System.getProperty("loadtest.profile", "mixed").toUpperCase(Locale.ROOT).replace('-', '_'));
+        int concurrency = Integer.getInteger("loadtest.concurrency", 64);
+        int users = Integer.getInteger("loadtest.users", 200);
+        int warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 5);
+        int durationSeconds = Integer.getInteger("loadtest.durationSeconds", 30);
+        int bookingDays = Integer.getInteger("loadtest.bookingDays", 14);
+        int ioThreads = Integer.getInteger("loadtest.ioThreads", Runtime.getRuntime().availableProcessors() * 2);
+        String appProfiles = System.getProperty("loadtest.appProfiles", "");
+        File resultFile = new File(System.getProperty("loadtest.result", "target/loadtest-result.json"));
+
+        ConfigurableApplicationContext context = null;
+        if (baseUrl.isBlank()) {
+            context = startEmbedded(appProfiles);
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+
+        LoadHarness harness = new LoadHarness(baseUrl, profile, bookingDays, ioThreads);
+        try {
+            harness.prepare(users);
+            System.out.printf("Load test: profile=%s concurrency=%d users=%d doctors=%d target=%s%n",
+                profile, concurrency, users, harness.doctorIds.size(), baseUrl);
+
+            harness.run(concurrency, warmupSeconds);
+            harness.stats = new LoadStats();
+            JvmSampler jvm = JvmSampler.start();
+            long started = System.nanoTime();
+            harness.run(concurrency, durationSeconds);
+            double elapsed = (System.nanoTime() - started) / 1e9;
+
+            Map<String, Object> report = harness.stats.report(elapsed);
+            report.put("profile", profile.name());
+            report.put("concurrency", concurrency);
+            report.put("appProfiles", appProfiles);
+            if (context != null) {
+                report.put("jvm", jvm.stop());
+            }
+            LoadStats.write(report, resultFile);
+        } finally {
+            harness.executor.shutdownNow();
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startEmbedded(String appProfiles) {
+        List<String> args = new ArrayList<>(List.of(
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:loadtest-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1",
+            "--spring.h2.console.enabled=false",
+            "--rate-limit.otp.phone.capacity=1000000",
+            "--rate-limit.otp.phone.per-minute=1000000",
+            "--rate-limit.otp.ip.capacity=1000000",
+            "--rate-limit.otp.ip.per-minute=1000000",
+            "--logging.level.root=WARN"));
+        if (!appProfiles.isBlank()) {
+            args.add("--spring.profiles.active=" + appProfiles);
+        }
+        return new SpringApplication(MedicalSchedulingApplication.class).run(args.toArray(new String[0]));
+    }
+
+    private void prepare(int users) throws Exception {
+        HttpResponse<String> doctors = client.send(get("/api/doctors", null), HttpResponse.BodyHandlers.ofString());
+        for (JsonNode doctor : mapper.readTree(doctors.body())) {
+            doctorIds.add(doctor.get("id").asLong());
+        }
+        if (doctorIds.isEmpty()) {
+            throw new IllegalStateException("No doctors available at " + baseUrl);
+        }
+
+        List<CompletableFuture<Session>> logins = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            logins.add(login("7" + String.format("%010d", i)));
+        }
+        for (CompletableFuture<Session> login : logins) {
+            Session session = login.get(30, TimeUnit.SECONDS);
+            if (session == null) {
+                throw new IllegalStateException("Could not log in load test users");
+            }
+            sessions.add(session);
+        }
+    }
+
+    private void run(int concurrency, int seconds) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            workers[i] = loop(deadline);
+        }
+        CompletableFuture.allOf(workers).get(seconds + 60L, TimeUnit.SECONDS);
+    }
+
+    private CompletableFuture<Void> loop(long deadline) {
+        if (System.nanoTime() >= deadline) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return execute(profile.next())
+            .handle((ignored, error) -> null)
+            .thenComposeAsync(ignored -> loop(deadline), executor);
+    }
+
+    private CompletableFuture<?> execute(Operation operation) {
+        Session session = sessions.get(ThreadLocalRandom.current().nextInt(sessions.size()));
+        return switch (operation) {
+            case AVAILABILITY -> availability();
+            case AVAILABILITY_RANGE -> availabilityRange();
+            case BOOK -> book(session);
+            case CANCEL -> cancel(session);
+            case RESCHEDULE -> reschedule(session);
+            case LOGIN -> login(session.phone);
+        };
+    }
+
+    private CompletableFuture<?> availability() {
+        return timed(Operation.AVAILABILITY, get("/api/time-slots?doctorId=" + randomDoctor()
+            + "&date=" + randomDate(), null));
+    }
+
+    private CompletableFuture<?> availabilityRange() {
+        LocalDate from = randomDate();
+        return timed(Operation.AVAILABILITY_RANGE, get("/api/time-slots/range?fieldId="
+            + (1 + ThreadLocalRandom.current().nextInt(6)) + "&from=" + from + "&to=" + from.plusDays(6), null));
+    }
+
+    private CompletableFuture<?> book(Session session) {
+        long doctorId = randomDoctor();
+        LocalDateTime at = randomSlot();
+        String body = "{\"doctorId\":" + doctorId + ",\"appointmentDate\":\"" + DATE_TIME.format(at) + "\"}";
+        return timed(Operation.BOOK, post("/api/appointments", session.token, body)).thenAccept(response -> {
+            if (response != null && response.statusCode() == 200) {
+                Booking booking = new Booking(json(response).get("id").asLong(), doctorId, at);
+                claim(booking);
+                session.bookings.add(booking);
+            }
+        });
+    }
+
+    private CompletableFuture<?> cancel(Session session) {
+        Booking booking = session.bookings.poll();
+        if (booking == null) {
+            return book(session);
+        }
+        // Release the key before the request so a booking racing the cancel is never miscounted
+        liveSlots.remove(booking.key(), booking.id);
+        return timed(Operation.CANCEL, put("/api/appointments/" + booking.id + "/cancel", session.token, ""))
+            .thenAccept(response -> {
+                if (response == null || response.statusCode() != 200) {
+                    claim(booking);
+                    session.bookings.add(booking);
+                }
+            });
+    }
+
+    private CompletableFuture<?> reschedule(Session session) {
+        Booking booking = session.bookings.poll();
+        if (booking == null) {
+            return book(session);
+        }
+        LocalDateTime at = randomSlot();
+        liveSlots.remove(booking.key(), booking.id);
+        String body = "{\"newDate\":\"" + DATE_TIME.format(at) + "\"}";
+        return timed(Operation.RESCHEDULE, put("/api/appointments/" + booking.id + "/reschedule", session.token, body))
+            .thenAccept(response -> {
+                Booking current = response != null && response.statusCode() == 200
+                    ? new Booking(booking.id, booking.doctorId, at)
+                    : booking;
+                claim(current);
+                session.bookings.add(current);
+            });
+    }
+
+    private CompletableFuture<Session> login(String phone) {
+        String phoneBody = "{\"phone\":\"" + phone + "\"}";
+        return timed(Operation.LOGIN, post("/api/auth/send-otp", null, phoneBody))
+            .thenCompose(sent -> {
+                if (sent == null || sent.statusCode() != 200) {
+                    return CompletableFuture.completedFuture(null);
+                }
+                String verifyBody = "{\"phone\":\"" + phone + "\",\"code\":\"" + json(sent).get("otp").asText() + "\"}";
+                return timed(Operation.LOGIN, post("/api/auth/verify-otp", null, verifyBody));
+            })
+            .thenApply(verified -> {
+                if (verified == null || verified.statusCode() != 200) {
+                    return null;
+                }
+                JsonNode auth = json(verified);
+                return new Session(phone, auth.get("token").asText());
+            });
+    }
+
+    private void claim(Booking booking) {
+        if (liveSlots.putIfAbsent(booking.key(), booking.id) != null) {
+            stats.doubleBookings.increment();
+            System.err.printf("Double booking detected: doctor %d at %s (appointment %d)%n",
+                booking.doctorId, booking.at, booking.id);
+        }
+    }
+
+    // Sends the request, records its latency and classifies the outcome. Completes with
+    // null on transport failure so callers only need to look at the status code.
+    private CompletableFuture<HttpResponse<String>> timed(Operation operation, HttpRequest request) {
+        LoadStats current = stats;
+        long started = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+            .handle((response, error) -> {
+                current.record(operation, System.nanoTime() - started);
+                if (error != null) {
+                    current.transportErrors.increment();
+                    return null;
+                }
+                int status = response.statusCode();
+                if (status >= 500) {
+                    current.serverErrors.increment();
+                } else if (status == 429) {
+                    current.rateLimited.increment();
+                } else if (status >= 400) {
+                    if (response.body().contains(CONFLICT_MESSAGE)) {
+                        current.bookingConflicts.increment();
+                    } else {
+                        current.clientErrors.increment();
+                    }
+                }
+                return response;
+            });
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, String body) {
+        return request(path, token).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private HttpRequest put(String path, String token, String body) {
+        return request(path, token).PUT(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private JsonNode json(HttpResponse<String> response) {
+        try {
+            return mapper.readTree(response.body());
+        } catch (Exception e) {
+            throw new IllegalStateException("Unexpected response body: " + response.body(), e);
+        }
+    }
+
+    private long randomDoctor() {
+        return doctorIds.get(ThreadLocalRandom.current().nextInt(doctorIds.size()));
+    }
+
+    private LocalDate randomDate() {
+        return LocalDate.now().plusDays(1 + ThreadLocalRandom.current().nextInt(bookingDays));
+    }
+
+    private LocalDateTime randomSlot() {
+        int hour = SLOT_HOURS[ThreadLocalRandom.current().nextInt(SLOT_HOURS.length)];
+        return LocalDateTime.of(randomDate(), LocalTime.of(hour, 0));
+    }
+
+    private static final class Session {
+        final String phone;
+        final String token;
+        final Queue<Booking> bookings = new ConcurrentLinkedQueue<>();
+
+        Session(String phone, String token) {
+            this.phone = phone;
+            this.token = token;
+        }
+    }
+
+    private record Booking(long id, long doctorId, LocalDateTime at) {
+        String key() {
+            return doctorId + "@" + at;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.shiba.medical.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.shiba.medical.loadtest.TrafficProfile.Operation;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-operation latency histograms plus error counters
+public class LoadStats {
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Map<Operation, Recorder> latencies = new EnumMap<>(Operation.class);
+    final LongAdder serverErrors = new LongAdder();
+    final LongAdder transportErrors = new LongAdder();
+    final LongAdder clientErrors = new LongAdder();
+    final LongAdder bookingConflicts = new LongAdder();
+    final LongAdder rateLimited = new LongAdder();
+    final LongAdder doubleBookings = new LongAdder();
+
+    public LoadStats() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new Recorder(MAX_LATENCY_NANOS, 3));
+        }
+    }
+
+    public void record(Operation operation, long nanos) {
+        latencies.get(operation).recordValue(Math.min(nanos, MAX_LATENCY_NANOS));
+    }
+
+    public Map<String, Object> report(double seconds) {
+        Map<String, Object> operations = new LinkedHashMap<>();
+        long total = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation).getIntervalHistogram();
+            long count = histogram.getTotalCount();
+            if (count == 0) {
+                continue;
+            }
+            total += count;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("count", count);
+            row.put("rps", round(count / seconds));
+            row.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+            row.put("p90Ms", millis(histogram.getValueAtPercentile(90)));
+            row.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+            row.put("maxMs", millis(histogram.getMaxValue()));
+            operations.put(operation.name(), row);
+        }
+
+        Map<String, Object> errors = new LinkedHashMap<>();
+        errors.put("serverErrors5xx", serverErrors.sum());
+        errors.put("transportErrors", transportErrors.sum());
+        errors.put("otherClientErrors4xx", clientErrors.sum());
+        errors.put("bookingConflicts", bookingConflicts.sum());
+        errors.put("rateLimited429", rateLimited.sum());
+        errors.put("doubleBookings", doubleBookings.sum());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("durationSeconds", round(seconds));
+        report.put("totalRequests", total);
+        report.put("totalRps", round(total / seconds));
+        report.put("operations", operations);
+        report.put("errors", errors);
+        return report;
+    }
+
+    public static void write(Map<String, Object> report, File file) throws IOException {
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        System.out.println(mapper.writeValueAsString(report));
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        mapper.writeValue(file, report);
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
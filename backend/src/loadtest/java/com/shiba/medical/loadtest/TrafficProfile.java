@@ -0,0 +1,44 @@
+package com.shiba.medical.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Relative weights of each operation in a traffic mix
+public enum TrafficProfile {
+    MIXED(Map.of(
+        Operation.AVAILABILITY, 70, Operation.AVAILABILITY_RANGE, 5, Operation.BOOK, 10,
+        Operation.CANCEL, 5, Operation.RESCHEDULE, 5, Operation.LOGIN, 5)),
+    BOOKING_STORM(Map.of(
+        Operation.AVAILABILITY, 30, Operation.BOOK, 50, Operation.CANCEL, 10, Operation.RESCHEDULE, 10)),
+    LOGIN_BURST(Map.of(
+        Operation.LOGIN, 80, Operation.AVAILABILITY, 20));
+
+    public enum Operation {
+        AVAILABILITY, AVAILABILITY_RANGE, BOOK, CANCEL, RESCHEDULE, LOGIN
+    }
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    TrafficProfile(Map<Operation, Integer> weights) {
+        Map<Operation, Integer> ordered = new EnumMap<>(weights);
+        this.operations = ordered.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += ordered.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public Operation next() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+}
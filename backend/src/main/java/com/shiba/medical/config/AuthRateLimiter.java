@@ -0,0 +1,32 @@
+package com.shiba.medical.config;
+
+import com.shiba.medical.util.TokenBucketLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Per-phone and per-IP limits for the OTP endpoints, checked before the service layer
+@Component
+public class AuthRateLimiter {
+    private final TokenBucketLimiter phoneLimiter;
+    private final TokenBucketLimiter ipLimiter;
+
+    public AuthRateLimiter(@Value("${rate-limit.otp.phone.capacity:5}") int phoneCapacity,
+                           @Value("${rate-limit.otp.phone.per-minute:5}") int phonePerMinute,
+                           @Value("${rate-limit.otp.ip.capacity:30}") int ipCapacity,
+                           @Value("${rate-limit.otp.ip.per-minute:30}") int ipPerMinute,
+                           @Value("${rate-limit.otp.max-keys:100000}") int maxKeys) {
+        this.phoneLimiter = new TokenBucketLimiter(phoneCapacity, phonePerMinute, maxKeys);
+        this.ipLimiter = new TokenBucketLimiter(ipCapacity, ipPerMinute, maxKeys);
+    }
+
+    public boolean tryAcquire(String action, String phone, String ip) {
+        return ipLimiter.tryAcquire(action + ':' + ip) && phoneLimiter.tryAcquire(action + ':' + phone);
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.otp.evict-interval:60000}")
+    public void evictIdle() {
+        phoneLimiter.evictIdle();
+        ipLimiter.evictIdle();
+    }
+}
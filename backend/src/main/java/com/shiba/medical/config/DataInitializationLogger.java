@@ -19,9 +19,9 @@ public class DataInitializationLogger implements CommandLineRunner {
         log.info("Data initialization check:");
         log.info("Medical Fields loaded: {}", fieldCount);
         if (fieldCount > 0) {
-            log.info("✓ Data.sql executed successfully");
+            log.info("✓ Sample data migration applied");
         } else {
-            log.warn("⚠ No medical fields found - data.sql may not have executed");
+            log.warn("⚠ No medical fields found - db/sample-data is not in spring.flyway.locations");
         }
         log.info("========================================");
     }
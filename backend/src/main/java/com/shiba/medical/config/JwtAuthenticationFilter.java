@@ -1,11 +1,13 @@
 package com.shiba.medical.config;
 
+import com.shiba.medical.util.JwtPrincipal;
 import com.shiba.medical.util.JwtUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -13,15 +15,19 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
 
+    @Value("${admin.phones:}")
+    private Set<String> adminPhones = Set.of();
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
@@ -34,20 +40,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             final String jwt = authHeader.substring(7);
-            final String phone = jwtUtil.getPhoneFromToken(jwt);
-            final Long userId = jwtUtil.getUserIdFromToken(jwt);
-
-            if (phone != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                if (jwtUtil.validateToken(jwt, phone)) {
-                    Map<String, Object> details = new HashMap<>();
-                    details.put("userId", userId);
-                    details.put("phone", phone);
-                    
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            phone, null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
-                    authToken.setDetails(details);
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                // One signature verification per request (or none on a cache hit)
+                JwtPrincipal principal = jwtUtil.verify(jwt);
+                Map<String, Object> details = new HashMap<>();
+                details.put("userId", principal.userId());
+                details.put("phone", principal.phone());
+
+                List<SimpleGrantedAuthority> authorities = adminPhones.contains(principal.phone())
+                        ? List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"))
+                        : List.of(new SimpleGrantedAuthority("ROLE_USER"));
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        principal.phone(), null, authorities);
+                authToken.setDetails(details);
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e);
@@ -0,0 +1,51 @@
+package com.shiba.medical.config;
+
+import com.shiba.medical.service.ReminderDispatcher;
+import com.shiba.medical.service.SlotEventBroadcaster;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Enables @Timed on service methods; controllers are timed by Boot as http.server.requests
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterBinder reminderMetrics(ReminderDispatcher reminderDispatcher) {
+        return registry -> {
+            FunctionCounter.builder("reminders.sent", reminderDispatcher, ReminderDispatcher::getSentTotal)
+                .description("Reminders delivered by the notifier")
+                .register(registry);
+            FunctionCounter.builder("reminders.failed", reminderDispatcher, ReminderDispatcher::getFailedTotal)
+                .description("Reminders marked FAILED after a dispatch run's attempts; requeued rows can count again")
+                .register(registry);
+            Gauge.builder("reminders.outbox.pending", reminderDispatcher, ReminderDispatcher::getQueueDepth)
+                .description("Reminders waiting in the outbox, as of the last dispatch run")
+                .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder slotEventMetrics(SlotEventBroadcaster slotEventBroadcaster) {
+        return registry -> {
+            Gauge.builder("slots.events.subscribers", slotEventBroadcaster, SlotEventBroadcaster::getSubscriberCount)
+                .description("Open availability event streams")
+                .register(registry);
+            FunctionCounter.builder("slots.events.pushed", slotEventBroadcaster, SlotEventBroadcaster::getPushedTotal)
+                .description("Availability events written to subscribers")
+                .register(registry);
+            FunctionCounter.builder("slots.events.dropped", slotEventBroadcaster, SlotEventBroadcaster::getDroppedTotal)
+                .description("Subscribers closed for not reading their stream")
+                .register(registry);
+        };
+    }
+}
@@ -36,6 +36,9 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/auth/**", "/h2-console/**").permitAll()
                 .requestMatchers("/api/medical-fields/**", "/api/doctors/**", "/api/time-slots/**", "/api/search/**").permitAll()
+                .requestMatchers("/actuator/health/**").permitAll()
+                // Metrics reveal endpoint names, traffic and pool sizes: for operators only
+                .requestMatchers("/api/admin/**", "/actuator/prometheus", "/actuator/metrics/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.disable()));
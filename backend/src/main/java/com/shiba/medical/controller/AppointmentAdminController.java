@@ -0,0 +1,48 @@
+package com.shiba.medical.controller;
+
+import com.shiba.medical.dto.BulkAppointmentRequest;
+import com.shiba.medical.dto.BulkAppointmentResult;
+import com.shiba.medical.dto.ExportFormat;
+import com.shiba.medical.service.AppointmentAdminService;
+import com.shiba.medical.service.AppointmentExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/admin/appointments")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class AppointmentAdminController {
+    private final AppointmentAdminService appointmentAdminService;
+    private final AppointmentExportService appointmentExportService;
+
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkAppointmentResult> bulkUpdate(@RequestBody BulkAppointmentRequest request) {
+        return ResponseEntity.ok(appointmentAdminService.apply(request));
+    }
+
+    // Streams as it reads, so the download starts at once and memory stays flat for any range
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(required = false) Long fieldId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        appointmentExportService.validate(doctorId, fieldId, from, to);
+        StreamingResponseBody body = out -> appointmentExportService.export(doctorId, fieldId, from, to, exportFormat, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"appointments-" + from + "-" + to + "." + exportFormat.getExtension() + "\"")
+            .body(body);
+    }
+}
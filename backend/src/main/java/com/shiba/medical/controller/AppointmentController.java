@@ -1,6 +1,7 @@
 package com.shiba.medical.controller;
 
 import com.shiba.medical.dto.AppointmentDTO;
+import com.shiba.medical.dto.AppointmentPage;
 import com.shiba.medical.dto.AppointmentRequest;
 import com.shiba.medical.service.AppointmentService;
 import jakarta.validation.Valid;
@@ -30,9 +31,12 @@ public class AppointmentController {
     }
 
     @GetMapping
-    public ResponseEntity<List<AppointmentDTO>> getUserAppointments(Authentication authentication) {
+    public ResponseEntity<AppointmentPage> getUserAppointments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication authentication) {
         Long userId = getUserIdFromAuth(authentication);
-        return ResponseEntity.ok(appointmentService.getUserAppointments(userId));
+        return ResponseEntity.ok(appointmentService.getUserAppointments(userId, cursor, limit));
     }
 
     @GetMapping("/upcoming")
@@ -42,9 +46,12 @@ public class AppointmentController {
     }
 
     @GetMapping("/past")
-    public ResponseEntity<List<AppointmentDTO>> getPastAppointments(Authentication authentication) {
+    public ResponseEntity<AppointmentPage> getPastAppointments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication authentication) {
         Long userId = getUserIdFromAuth(authentication);
-        return ResponseEntity.ok(appointmentService.getPastAppointments(userId));
+        return ResponseEntity.ok(appointmentService.getPastAppointments(userId, cursor, limit));
     }
 
     @PostMapping
@@ -1,10 +1,12 @@
 package com.shiba.medical.controller;
 
+import com.shiba.medical.config.AuthRateLimiter;
 import com.shiba.medical.dto.AuthResponse;
 import com.shiba.medical.dto.OTPResponse;
 import com.shiba.medical.dto.SendOTPRequest;
 import com.shiba.medical.dto.VerifyOTPRequest;
 import com.shiba.medical.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -16,17 +18,28 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "*")
 public class AuthController {
     private final AuthService authService;
+    private final AuthRateLimiter authRateLimiter;
 
     @PostMapping("/send-otp")
-    public ResponseEntity<OTPResponse> sendOTP(@Valid @RequestBody SendOTPRequest request) {
+    public ResponseEntity<OTPResponse> sendOTP(@Valid @RequestBody SendOTPRequest request,
+                                               HttpServletRequest httpRequest) {
+        checkRateLimit("send", request.getPhone(), httpRequest);
         OTPResponse response = authService.sendOTP(request);
         return ResponseEntity.ok(response);
     }
 
     @PostMapping("/verify-otp")
-    public ResponseEntity<AuthResponse> verifyOTP(@Valid @RequestBody VerifyOTPRequest request) {
+    public ResponseEntity<AuthResponse> verifyOTP(@Valid @RequestBody VerifyOTPRequest request,
+                                                  HttpServletRequest httpRequest) {
+        checkRateLimit("verify", request.getPhone(), httpRequest);
         AuthResponse response = authService.verifyOTP(request);
         return ResponseEntity.ok(response);
     }
+
+    private void checkRateLimit(String action, String phone, HttpServletRequest httpRequest) {
+        if (!authRateLimiter.tryAcquire(action, phone, httpRequest.getRemoteAddr())) {
+            throw new TooManyRequestsException("Too many requests, please try again later");
+        }
+    }
 }
 
@@ -1,37 +1,26 @@
 package com.shiba.medical.controller;
 
-import com.shiba.medical.model.Doctor;
-import com.shiba.medical.service.DoctorService;
+import com.shiba.medical.service.ReferenceDataCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/doctors")
 @RequiredArgsConstructor
 @CrossOrigin(origins = "*")
 public class DoctorController {
-    private final DoctorService doctorService;
+    private final ReferenceDataCache referenceDataCache;
 
     @GetMapping
-    public ResponseEntity<List<Doctor>> getDoctors(@RequestParam(required = false) Long fieldId) {
-        List<Doctor> doctors;
+    public ResponseEntity<byte[]> getDoctors(
+            @RequestParam(required = false) Long fieldId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Pre-serialized snapshot; a matching If-None-Match is answered with 304
         if (fieldId != null) {
-            doctors = doctorService.getDoctorsByField(fieldId);
-        } else {
-            doctors = doctorService.searchDoctors("");
+            return referenceDataCache.doctorsByField(fieldId).toResponse(ifNoneMatch);
         }
-        // Set nested collections to null to avoid circular reference
-        doctors.forEach(doctor -> {
-            if (doctor.getMedicalField() != null) {
-                doctor.getMedicalField().setDoctors(null);
-            }
-            doctor.setAppointments(null);
-            doctor.setTimeSlots(null);
-        });
-        return ResponseEntity.ok(doctors);
+        return referenceDataCache.doctors().toResponse(ifNoneMatch);
     }
 }
-
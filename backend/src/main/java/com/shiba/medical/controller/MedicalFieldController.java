@@ -1,26 +1,22 @@
 package com.shiba.medical.controller;
 
-import com.shiba.medical.model.MedicalField;
-import com.shiba.medical.service.MedicalFieldService;
+import com.shiba.medical.service.ReferenceDataCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/medical-fields")
 @RequiredArgsConstructor
 @CrossOrigin(origins = "*")
 public class MedicalFieldController {
-    private final MedicalFieldService medicalFieldService;
+    private final ReferenceDataCache referenceDataCache;
 
     @GetMapping
-    public ResponseEntity<List<MedicalField>> getAllMedicalFields() {
-        List<MedicalField> fields = medicalFieldService.getAllMedicalFields();
-        // Set doctors to null to avoid circular reference in JSON
-        fields.forEach(field -> field.setDoctors(null));
-        return ResponseEntity.ok(fields);
+    public ResponseEntity<byte[]> getAllMedicalFields(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Pre-serialized snapshot; a matching If-None-Match is answered with 304
+        return referenceDataCache.medicalFields().toResponse(ifNoneMatch);
     }
 }
-
@@ -0,0 +1,20 @@
+package com.shiba.medical.controller;
+
+import com.shiba.medical.dto.ReminderDispatchStats;
+import com.shiba.medical.service.ReminderDispatcher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/reminders")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ReminderAdminController {
+    private final ReminderDispatcher reminderDispatcher;
+
+    @GetMapping("/stats")
+    public ResponseEntity<ReminderDispatchStats> getStats() {
+        return ResponseEntity.ok(reminderDispatcher.getStats());
+    }
+}
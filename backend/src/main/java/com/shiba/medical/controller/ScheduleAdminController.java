@@ -0,0 +1,39 @@
+package com.shiba.medical.controller;
+
+import com.shiba.medical.dto.DoctorScheduleRequest;
+import com.shiba.medical.dto.ScheduleExceptionRequest;
+import com.shiba.medical.dto.ScheduleImportResult;
+import com.shiba.medical.service.ScheduleService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/schedules")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ScheduleAdminController {
+    private final ScheduleService scheduleService;
+
+    @PutMapping
+    public ResponseEntity<ScheduleImportResult> replaceWeeklySchedules(@RequestBody List<DoctorScheduleRequest> requests) {
+        return ResponseEntity.ok(scheduleService.replaceWeeklySchedules(requests));
+    }
+
+    @PostMapping("/exceptions")
+    public ResponseEntity<Map<String, Integer>> addExceptions(@RequestBody List<ScheduleExceptionRequest> requests) {
+        return ResponseEntity.ok(Map.of("created", scheduleService.addExceptions(requests)));
+    }
+
+    @DeleteMapping("/exceptions")
+    public ResponseEntity<Map<String, Integer>> deleteExceptions(
+            @RequestParam Long doctorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(Map.of("deleted", scheduleService.deleteExceptions(doctorId, date)));
+    }
+}
@@ -1,9 +1,8 @@
 package com.shiba.medical.controller;
 
-import com.shiba.medical.model.Doctor;
-import com.shiba.medical.model.MedicalField;
-import com.shiba.medical.service.DoctorService;
-import com.shiba.medical.service.MedicalFieldService;
+import com.shiba.medical.dto.DoctorDTO;
+import com.shiba.medical.dto.MedicalFieldDTO;
+import com.shiba.medical.service.SearchIndex;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -16,32 +15,24 @@ import java.util.List;
 @RequiredArgsConstructor
 @CrossOrigin(origins = "*")
 public class SearchController {
-    private final DoctorService doctorService;
-    private final MedicalFieldService medicalFieldService;
+    private static final int MAX_LIMIT = 50;
+
+    private final SearchIndex searchIndex;
 
     @GetMapping
-    public ResponseEntity<SearchResponse> search(@RequestParam String q) {
-        List<Doctor> doctors = doctorService.searchDoctors(q);
-        List<MedicalField> fields = medicalFieldService.searchMedicalFields(q);
-        
-        // Break circular references
-        doctors.forEach(doctor -> {
-            if (doctor.getMedicalField() != null) {
-                doctor.getMedicalField().setDoctors(null);
-            }
-            doctor.setAppointments(null);
-            doctor.setTimeSlots(null);
-        });
-        fields.forEach(field -> field.setDoctors(null));
-        
+    public ResponseEntity<SearchResponse> search(@RequestParam String q,
+                                                 @RequestParam(defaultValue = "20") int limit) {
+        int cappedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        // Served from the in-memory index of projected read models
+        List<DoctorDTO> doctors = searchIndex.searchDoctors(q, cappedLimit);
+        List<MedicalFieldDTO> fields = searchIndex.searchMedicalFields(q, cappedLimit);
         return ResponseEntity.ok(new SearchResponse(doctors, fields));
     }
 
     @Data
     @RequiredArgsConstructor
     public static class SearchResponse {
-        private final List<Doctor> doctors;
-        private final List<MedicalField> medicalFields;
+        private final List<DoctorDTO> doctors;
+        private final List<MedicalFieldDTO> medicalFields;
     }
 }
-
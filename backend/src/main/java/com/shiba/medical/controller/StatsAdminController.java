@@ -0,0 +1,34 @@
+package com.shiba.medical.controller;
+
+import com.shiba.medical.dto.UtilizationDTO;
+import com.shiba.medical.service.UtilizationStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/stats")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class StatsAdminController {
+    private final UtilizationStats utilizationStats;
+
+    @GetMapping("/utilization")
+    public ResponseEntity<List<UtilizationDTO>> getUtilization(
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(required = false) Long fieldId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(utilizationStats.getUtilization(doctorId, fieldId, from, to));
+    }
+
+    @PostMapping("/utilization/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuild() {
+        return ResponseEntity.ok(Map.of("mismatches", utilizationStats.rebuild()));
+    }
+}
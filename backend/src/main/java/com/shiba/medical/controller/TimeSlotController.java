@@ -1,10 +1,16 @@
 package com.shiba.medical.controller;
 
+import com.shiba.medical.dto.AvailableSlotDTO;
+import com.shiba.medical.dto.DoctorAvailabilityDTO;
+import com.shiba.medical.service.SlotEventBroadcaster;
 import com.shiba.medical.service.TimeSlotService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -16,6 +22,7 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class TimeSlotController {
     private final TimeSlotService timeSlotService;
+    private final SlotEventBroadcaster slotEventBroadcaster;
 
     @GetMapping
     public ResponseEntity<List<LocalTime>> getAvailableTimeSlots(
@@ -23,5 +30,32 @@ public class TimeSlotController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
         return ResponseEntity.ok(timeSlotService.getAvailableTimeSlots(doctorId, date));
     }
-}
 
+    @GetMapping("/range")
+    public ResponseEntity<List<DoctorAvailabilityDTO>> getAvailabilityRange(
+            @RequestParam(required = false) List<Long> doctorIds,
+            @RequestParam(required = false) Long fieldId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(timeSlotService.getAvailabilityRange(doctorIds, fieldId, from, to));
+    }
+
+    @GetMapping("/first-available")
+    public ResponseEntity<List<AvailableSlotDTO>> getFirstAvailable(
+            @RequestParam Long fieldId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam(defaultValue = "true") boolean onePerDoctor) {
+        return ResponseEntity.ok(timeSlotService.findFirstAvailable(fieldId, from, limit, onePerDoctor));
+    }
+
+    // Server-Sent Events: a "slots" event with the current free slots of each day, then again after every change
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(
+            @RequestParam Long doctorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "1") int days,
+            HttpServletRequest httpRequest) {
+        return slotEventBroadcaster.subscribe(doctorId, date, days, httpRequest.getRemoteAddr());
+    }
+}
@@ -0,0 +1,7 @@
+package com.shiba.medical.controller;
+
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
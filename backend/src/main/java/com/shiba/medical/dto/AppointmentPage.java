@@ -0,0 +1,16 @@
+package com.shiba.medical.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentPage {
+    private List<AppointmentDTO> items;
+    // Opaque continuation token, null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,17 @@
+package com.shiba.medical.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailableSlotDTO {
+    private Long doctorId;
+    private String doctorName;
+    private Integer experienceYears;
+    private LocalDateTime slot;
+}
@@ -0,0 +1,24 @@
+package com.shiba.medical.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class BulkAppointmentRequest {
+    private Long doctorId;
+    
+    // Inclusive; only appointments that have not started yet are touched
+    private LocalDate from;
+    
+    private LocalDate to;
+    
+    private Action action;
+    
+    // SHIFT only: minutes to move every appointment by, negative to bring them forward
+    private Integer shiftMinutes;
+    
+    public enum Action {
+        CANCEL, SHIFT
+    }
+}
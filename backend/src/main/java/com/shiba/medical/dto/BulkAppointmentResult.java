@@ -0,0 +1,32 @@
+package com.shiba.medical.dto;
+
+import com.shiba.medical.model.Appointment.AppointmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAppointmentResult {
+    private Long doctorId;
+    private BulkAppointmentRequest.Action action;
+    private int affected;
+    private int notificationsQueued;
+    private List<AffectedAppointment> appointments;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AffectedAppointment {
+        private Long appointmentId;
+        private Long userId;
+        private AppointmentStatus previousStatus;
+        private LocalDateTime previousDate;
+        // Null when the appointment was cancelled
+        private LocalDateTime newDate;
+    }
+}
@@ -0,0 +1,18 @@
+package com.shiba.medical.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DoctorAvailabilityDTO {
+    private Long doctorId;
+    private Map<LocalDate, List<LocalTime>> availableSlots;
+}
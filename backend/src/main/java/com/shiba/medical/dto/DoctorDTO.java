@@ -0,0 +1,16 @@
+package com.shiba.medical.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DoctorDTO {
+    private Long id;
+    private String name;
+    private Integer experienceYears;
+    private Long medicalFieldId;
+    private String medicalFieldName;
+}
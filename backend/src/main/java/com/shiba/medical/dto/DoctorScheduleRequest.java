@@ -0,0 +1,22 @@
+package com.shiba.medical.dto;
+
+import lombok.Data;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+public class DoctorScheduleRequest {
+    private Long doctorId;
+    
+    private List<WeeklyHours> hours;
+    
+    @Data
+    public static class WeeklyHours {
+        private DayOfWeek dayOfWeek;
+        private LocalTime startTime;
+        private LocalTime endTime;
+        private Integer slotMinutes;
+    }
+}
@@ -0,0 +1,14 @@
+package com.shiba.medical.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MedicalFieldDTO {
+    private Long id;
+    private String name;
+    private String description;
+}
@@ -0,0 +1,16 @@
+package com.shiba.medical.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReminderDispatchStats {
+    private long queueDepth;
+    private long sentTotal;
+    private long failedTotal;
+    private long lastRunSent;
+    private double lastRunPerSecond;
+}
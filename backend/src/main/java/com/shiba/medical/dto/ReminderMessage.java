@@ -0,0 +1,20 @@
+package com.shiba.medical.dto;
+
+import com.shiba.medical.model.ReminderOutbox.NotificationKind;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReminderMessage {
+    // Idempotency key for notifiers: a batch may be delivered more than once after a retry
+    private Long appointmentId;
+    private String phone;
+    private String doctorName;
+    private LocalDateTime appointmentDate;
+    private NotificationKind kind;
+}
@@ -0,0 +1,26 @@
+package com.shiba.medical.dto;
+
+import com.shiba.medical.model.ScheduleException;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+public class ScheduleExceptionRequest {
+    private Long doctorId;
+    
+    private LocalDate date;
+    
+    private ScheduleException.ExceptionType type;
+    
+    // CLOSED without times closes the whole day
+    private LocalTime startTime;
+    
+    private LocalTime endTime;
+    
+    // Required for EXTRA
+    private Integer slotMinutes;
+    
+    private String reason;
+}
@@ -0,0 +1,15 @@
+package com.shiba.medical.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleImportResult {
+    private int doctors;
+    private int templates;
+    // Distinct daily start times written to time_slots for clients that still read them
+    private int timeSlots;
+}
@@ -0,0 +1,26 @@
+package com.shiba.medical.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UtilizationDTO {
+    private LocalDate date;
+    // Bookable slots in the schedule that day
+    private int capacity;
+    // Live and completed appointments, rescheduled ones included
+    private long booked;
+    private long cancelled;
+    // Live appointments that got onto this day by a reschedule (status RESCHEDULED); a current
+    // count, not the number of reschedule events
+    private long movedIn;
+    private double occupancy;
+    private double cancellationRate;
+    // movedIn over booked plus cancelled
+    private double movedInRate;
+}
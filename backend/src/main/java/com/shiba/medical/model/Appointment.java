@@ -8,7 +8,10 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", uniqueConstraints = {
+    // active_slot is NULL for cancelled/completed rows, so only live bookings collide
+    @UniqueConstraint(name = "uk_appointments_doctor_active_slot", columnNames = {"doctor_id", "active_slot"})
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -38,9 +41,26 @@ public class Appointment {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
+    @Column(name = "active_slot")
+    private LocalDateTime activeSlot;
+    
+    @Column(name = "reminder_sent_at")
+    private LocalDateTime reminderSentAt;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        syncActiveSlot();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        syncActiveSlot();
+    }
+    
+    private void syncActiveSlot() {
+        activeSlot = (status == AppointmentStatus.SCHEDULED || status == AppointmentStatus.RESCHEDULED)
+            ? appointmentDate : null;
     }
     
     public enum AppointmentStatus {
@@ -3,6 +3,8 @@ package com.shiba.medical.model;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
@@ -10,10 +12,13 @@ import java.util.List;
 
 @Entity
 @Table(name = "medical_fields")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "medical-field")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@EntityListeners(ReferenceDataListener.class)
 public class MedicalField {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -27,6 +32,7 @@ public class MedicalField {
     
     @OneToMany(mappedBy = "medicalField", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnoreProperties("medicalField")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "medical-field-doctors")
     private List<Doctor> doctors;
 }
 
@@ -0,0 +1,4 @@
+package com.shiba.medical.model;
+
+public record ReferenceDataChangedEvent(Class<?> entityType) {
+}
@@ -0,0 +1,23 @@
+package com.shiba.medical.model;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+// Publishes a ReferenceDataChangedEvent whenever a Doctor or MedicalField is written,
+// so in-memory read models can rebuild once the transaction commits.
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataListener {
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(entity.getClass()));
+    }
+}
@@ -0,0 +1,69 @@
+package com.shiba.medical.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "reminder_outbox", uniqueConstraints = {
+    // One message of each kind per appointment and appointment time; a reschedule gets a fresh row
+    @UniqueConstraint(name = "uk_reminder_outbox_appointment", columnNames = {"appointment_id", "appointment_date", "kind"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReminderOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "appointment_id", nullable = false)
+    private Long appointmentId;
+    
+    @Column(nullable = false)
+    private String phone;
+    
+    @Column(name = "doctor_name", nullable = false)
+    private String doctorName;
+    
+    @Column(name = "appointment_date", nullable = false)
+    private LocalDateTime appointmentDate;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationKind kind = NotificationKind.REMINDER;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatus status = OutboxStatus.PENDING;
+    
+    @Column(nullable = false)
+    private Integer attempts = 0;
+    
+    @Column(name = "last_error")
+    private String lastError;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    // CANCELLED: the appointment changed before delivery, so the message no longer applies
+    public enum OutboxStatus {
+        PENDING, SENT, FAILED, CANCELLED
+    }
+    
+    // REMINDER ahead of a visit; CANCELLED and RESCHEDULED when the clinic changed the booking
+    public enum NotificationKind {
+        REMINDER, CANCELLED, RESCHEDULED
+    }
+}
@@ -0,0 +1,48 @@
+package com.shiba.medical.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// A date-specific change to a doctor's weekly hours: CLOSED removes slots (the whole day when
+// no times are given), EXTRA adds a clinic of slotMinutes slots between startTime and endTime
+@Entity
+@Table(name = "schedule_exceptions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleException {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "doctor_id", nullable = false)
+    private Doctor doctor;
+    
+    @Column(name = "exception_date", nullable = false)
+    private LocalDate exceptionDate;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ExceptionType type;
+    
+    @Column(name = "start_time")
+    private LocalTime startTime;
+    
+    @Column(name = "end_time")
+    private LocalTime endTime;
+    
+    @Column(name = "slot_minutes")
+    private Integer slotMinutes;
+    
+    private String reason;
+    
+    public enum ExceptionType {
+        CLOSED, EXTRA
+    }
+}
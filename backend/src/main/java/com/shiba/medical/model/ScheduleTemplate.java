@@ -0,0 +1,38 @@
+package com.shiba.medical.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+// Recurring weekly hours: every dayOfWeek the doctor takes slots of slotMinutes from startTime until endTime
+@Entity
+@Table(name = "schedule_templates")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleTemplate {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "doctor_id", nullable = false)
+    private Doctor doctor;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_of_week", nullable = false)
+    private DayOfWeek dayOfWeek;
+    
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+    
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+    
+    @Column(name = "slot_minutes", nullable = false)
+    private Integer slotMinutes;
+}
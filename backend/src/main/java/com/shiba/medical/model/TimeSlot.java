@@ -2,6 +2,8 @@ package com.shiba.medical.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
@@ -9,6 +11,8 @@ import java.time.LocalTime;
 
 @Entity
 @Table(name = "time_slots")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "time-slot")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -2,19 +2,82 @@ package com.shiba.medical.repository;
 
 import com.shiba.medical.model.Appointment;
 import com.shiba.medical.model.Appointment.AppointmentStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
-    List<Appointment> findByUserId(Long userId);
     List<Appointment> findByUserIdAndStatus(Long userId, AppointmentStatus status);
-    List<Appointment> findByUserIdAndAppointmentDateAfter(Long userId, LocalDateTime date);
-    List<Appointment> findByUserIdAndAppointmentDateBefore(Long userId, LocalDateTime date);
+
+    // User-facing reads fetch doctor and field in the same statement for convertToDTO
+    @EntityGraph(attributePaths = {"doctor", "doctor.medicalField"})
+    List<Appointment> findByUserIdAndStatusAndAppointmentDateAfter(Long userId, AppointmentStatus status, LocalDateTime date);
+
+    @EntityGraph(attributePaths = {"user", "doctor", "doctor.medicalField"})
+    Optional<Appointment> findDetailedById(Long id);
+
+    // Keyset page, newest first, strictly before the (appointmentDate, id) cursor. The redundant
+    // appointmentDate <= :date bound is what lets the planner range-scan idx_appointments_user_date;
+    // with only the OR it reads the user's whole history through the user_id foreign key index.
+    @EntityGraph(attributePaths = {"doctor", "doctor.medicalField"})
+    @Query("SELECT a FROM Appointment a WHERE a.user.id = :userId AND a.appointmentDate <= :date " +
+           "AND (a.appointmentDate < :date OR (a.appointmentDate = :date AND a.id < :id)) " +
+           "ORDER BY a.appointmentDate DESC, a.id DESC")
+    List<Appointment> findUserPageBefore(@Param("userId") Long userId,
+                                         @Param("date") LocalDateTime date,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
+    // Reminder scan chunk: live, not yet reminded, inside the window, keyset on (appointmentDate, id).
+    // Keying on the date keeps the scan on idx_appointments_date; ordering by id alone made the
+    // planner walk the primary key across the whole table to fill a page.
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.user JOIN FETCH a.doctor " +
+           "WHERE a.status IN :statuses AND a.reminderSentAt IS NULL " +
+           "AND a.appointmentDate > :from AND a.appointmentDate < :to " +
+           "AND a.appointmentDate >= :afterDate AND (a.appointmentDate > :afterDate OR a.id > :afterId) " +
+           "ORDER BY a.appointmentDate, a.id")
+    List<Appointment> findReminderCandidates(@Param("statuses") Collection<AppointmentStatus> statuses,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to,
+                                             @Param("afterDate") LocalDateTime afterDate,
+                                             @Param("afterId") Long afterId,
+                                             Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Appointment a SET a.reminderSentAt = :sentAt WHERE a.id IN :ids")
+    int markReminded(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
     List<Appointment> findByDoctorIdAndAppointmentDateBetween(Long doctorId, LocalDateTime start, LocalDateTime end);
     boolean existsByDoctorIdAndAppointmentDateAndStatus(Long doctorId, LocalDateTime appointmentDate, AppointmentStatus status);
-}
+    boolean existsByDoctorIdAndAppointmentDateAndStatusIn(Long doctorId, LocalDateTime appointmentDate, Collection<AppointmentStatus> statuses);
+
+    @Query("SELECT a.appointmentDate FROM Appointment a WHERE a.doctor.id = :doctorId AND a.status IN :statuses " +
+           "AND a.appointmentDate >= :since")
+    List<LocalDateTime> findActiveDatesByDoctorId(@Param("doctorId") Long doctorId,
+                                                  @Param("statuses") Collection<AppointmentStatus> statuses,
+                                                  @Param("since") LocalDateTime since);
 
+    // Rows of [doctorId, appointmentDate]
+    @Query("SELECT a.doctor.id, a.appointmentDate FROM Appointment a WHERE a.status IN :statuses AND a.appointmentDate >= :since")
+    List<Object[]> findActiveDoctorDates(@Param("statuses") Collection<AppointmentStatus> statuses,
+                                         @Param("since") LocalDateTime since);
+
+    // Rows of [doctorId, appointmentDate]
+    @Query("SELECT a.doctor.id, a.appointmentDate FROM Appointment a WHERE a.doctor.id IN :doctorIds AND a.status IN :statuses " +
+           "AND a.appointmentDate >= :since")
+    List<Object[]> findActiveDoctorDatesByDoctorIdIn(@Param("doctorIds") Collection<Long> doctorIds,
+                                                     @Param("statuses") Collection<AppointmentStatus> statuses,
+                                                     @Param("since") LocalDateTime since);
+}
@@ -1,15 +1,35 @@
 package com.shiba.medical.repository;
 
+import com.shiba.medical.dto.DoctorDTO;
 import com.shiba.medical.model.Doctor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
-    List<Doctor> findByMedicalFieldId(Long medicalFieldId);
-    List<Doctor> findByNameContainingIgnoreCase(String name);
-    List<Doctor> findByMedicalFieldIdAndNameContainingIgnoreCase(Long medicalFieldId, String name);
-}
+    @Query("SELECT d.id FROM Doctor d WHERE d.id IN :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.shiba.medical.dto.DoctorDTO(d.id, d.name, d.experienceYears, f.id, f.name) " +
+           "FROM Doctor d JOIN d.medicalField f ORDER BY d.id")
+    List<DoctorDTO> findAllSummaries();
 
+    // The per-field availability endpoints run these on every request; the query cache serves
+    // them until a doctor or field is written
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.shiba.medical.dto.DoctorDTO(d.id, d.name, d.experienceYears, f.id, f.name) " +
+           "FROM Doctor d JOIN d.medicalField f WHERE f.id = :fieldId ORDER BY d.id")
+    List<DoctorDTO> findSummariesByMedicalFieldId(@Param("fieldId") Long fieldId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT d.id FROM Doctor d WHERE d.medicalField.id = :fieldId ORDER BY d.id")
+    List<Long> findIdsByMedicalFieldId(@Param("fieldId") Long fieldId);
+}
@@ -1,13 +1,15 @@
 package com.shiba.medical.repository;
 
+import com.shiba.medical.dto.MedicalFieldDTO;
 import com.shiba.medical.model.MedicalField;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface MedicalFieldRepository extends JpaRepository<MedicalField, Long> {
-    List<MedicalField> findByNameContainingIgnoreCase(String name);
+    @Query("SELECT new com.shiba.medical.dto.MedicalFieldDTO(f.id, f.name, f.description) FROM MedicalField f ORDER BY f.id")
+    List<MedicalFieldDTO> findAllSummaries();
 }
-
@@ -19,5 +19,16 @@ public interface OTPCodeRepository extends JpaRepository<OTPCode, Long> {
     @Transactional
     @Query("DELETE FROM OTPCode o WHERE o.expiresAt < :now")
     void deleteExpiredCodes(@Param("now") LocalDateTime now);
-}
 
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OTPCode o WHERE o.phone = :phone")
+    void deleteByPhone(@Param("phone") String phone);
+
+    // Single statement so a code can only be consumed once
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OTPCode o WHERE o.phone = :phone AND o.code = :code AND o.expiresAt > :now")
+    int deleteByPhoneAndCodeAndExpiresAtAfter(@Param("phone") String phone, @Param("code") String code,
+                                              @Param("now") LocalDateTime now);
+}
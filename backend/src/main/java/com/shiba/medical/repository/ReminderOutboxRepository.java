@@ -0,0 +1,61 @@
+package com.shiba.medical.repository;
+
+import com.shiba.medical.model.ReminderOutbox;
+import com.shiba.medical.model.ReminderOutbox.NotificationKind;
+import com.shiba.medical.model.ReminderOutbox.OutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReminderOutboxRepository extends JpaRepository<ReminderOutbox, Long> {
+    // Rows of [outbox row, appointment status, appointment date]: the booking as it stands now,
+    // so the dispatcher can drop messages about appointments that have since changed
+    @Query("SELECT o, a.status, a.appointmentDate FROM ReminderOutbox o LEFT JOIN Appointment a ON a.id = o.appointmentId " +
+           "WHERE o.status = :status AND o.id > :afterId ORDER BY o.id")
+    List<Object[]> findWithAppointmentByStatusAfterId(@Param("status") OutboxStatus status,
+                                                      @Param("afterId") Long afterId, Pageable pageable);
+
+    long countByStatus(OutboxStatus status);
+
+    // Rows of [appointmentId, appointmentDate]
+    @Query("SELECT o.appointmentId, o.appointmentDate FROM ReminderOutbox o " +
+           "WHERE o.appointmentId IN :appointmentIds AND o.kind = :kind")
+    List<Object[]> findKeysByAppointmentIdInAndKind(@Param("appointmentIds") Collection<Long> appointmentIds,
+                                                    @Param("kind") NotificationKind kind);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ReminderOutbox o SET o.status = :status, o.sentAt = :sentAt, o.attempts = o.attempts + :attempts " +
+           "WHERE o.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("status") OutboxStatus status,
+                 @Param("sentAt") LocalDateTime sentAt, @Param("attempts") int attempts);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ReminderOutbox o SET o.status = :status, o.lastError = :error, o.attempts = o.attempts + :attempts " +
+           "WHERE o.id IN :ids")
+    int markFailed(@Param("ids") Collection<Long> ids, @Param("status") OutboxStatus status,
+                   @Param("error") String error, @Param("attempts") int attempts);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ReminderOutbox o SET o.status = :status WHERE o.id IN :ids")
+    int markStatus(@Param("ids") Collection<Long> ids, @Param("status") OutboxStatus status);
+
+    // Failed rows go back in the queue while they have attempts left and the appointment is still ahead
+    @Modifying
+    @Transactional
+    @Query("UPDATE ReminderOutbox o SET o.status = :pending WHERE o.status = :failed " +
+           "AND o.attempts < :maxAttempts AND o.appointmentDate > :now")
+    int requeueFailed(@Param("failed") OutboxStatus failed, @Param("pending") OutboxStatus pending,
+                      @Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now);
+}
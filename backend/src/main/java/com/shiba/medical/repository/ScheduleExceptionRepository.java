@@ -0,0 +1,24 @@
+package com.shiba.medical.repository;
+
+import com.shiba.medical.model.ScheduleException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ScheduleExceptionRepository extends JpaRepository<ScheduleException, Long> {
+    // Rows of [doctorId, date, type, startTime, endTime, slotMinutes]
+    @Query("SELECT e.doctor.id, e.exceptionDate, e.type, e.startTime, e.endTime, e.slotMinutes " +
+           "FROM ScheduleException e WHERE e.exceptionDate >= :from")
+    List<Object[]> findRowsFrom(@Param("from") LocalDate from);
+
+    // Rows of [doctorId, date, type, startTime, endTime, slotMinutes]
+    @Query("SELECT e.doctor.id, e.exceptionDate, e.type, e.startTime, e.endTime, e.slotMinutes " +
+           "FROM ScheduleException e WHERE e.doctor.id IN :doctorIds AND e.exceptionDate >= :from")
+    List<Object[]> findRowsByDoctorIdInFrom(@Param("doctorIds") Collection<Long> doctorIds, @Param("from") LocalDate from);
+}
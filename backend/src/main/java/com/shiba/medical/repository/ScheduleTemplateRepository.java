@@ -0,0 +1,22 @@
+package com.shiba.medical.repository;
+
+import com.shiba.medical.model.ScheduleTemplate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ScheduleTemplateRepository extends JpaRepository<ScheduleTemplate, Long> {
+    // Rows of [doctorId, dayOfWeek, startTime, endTime, slotMinutes]
+    @Query("SELECT t.doctor.id, t.dayOfWeek, t.startTime, t.endTime, t.slotMinutes FROM ScheduleTemplate t")
+    List<Object[]> findAllRows();
+
+    // Rows of [doctorId, dayOfWeek, startTime, endTime, slotMinutes]
+    @Query("SELECT t.doctor.id, t.dayOfWeek, t.startTime, t.endTime, t.slotMinutes FROM ScheduleTemplate t " +
+           "WHERE t.doctor.id IN :doctorIds")
+    List<Object[]> findRowsByDoctorIdIn(@Param("doctorIds") Collection<Long> doctorIds);
+}
@@ -2,13 +2,24 @@ package com.shiba.medical.repository;
 
 import com.shiba.medical.model.TimeSlot;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface TimeSlotRepository extends JpaRepository<TimeSlot, Long> {
-    List<TimeSlot> findByDoctorId(Long doctorId);
-    List<TimeSlot> findByDoctorIdAndIsAvailableTrue(Long doctorId);
-}
+    @Query("SELECT t.startTime FROM TimeSlot t WHERE t.doctor.id = :doctorId AND t.isAvailable = true")
+    List<LocalTime> findAvailableStartTimesByDoctorId(@Param("doctorId") Long doctorId);
+
+    // Rows of [doctorId, startTime]
+    @Query("SELECT t.doctor.id, t.startTime FROM TimeSlot t WHERE t.isAvailable = true")
+    List<Object[]> findAvailableStartTimes();
 
+    // Rows of [doctorId, startTime]
+    @Query("SELECT t.doctor.id, t.startTime FROM TimeSlot t WHERE t.doctor.id IN :doctorIds AND t.isAvailable = true")
+    List<Object[]> findAvailableStartTimesByDoctorIdIn(@Param("doctorIds") Collection<Long> doctorIds);
+}
@@ -0,0 +1,191 @@
+package com.shiba.medical.service;
+
+import com.shiba.medical.dto.BulkAppointmentRequest;
+import com.shiba.medical.dto.BulkAppointmentRequest.Action;
+import com.shiba.medical.dto.BulkAppointmentResult;
+import com.shiba.medical.dto.BulkAppointmentResult.AffectedAppointment;
+import com.shiba.medical.model.Appointment.AppointmentStatus;
+import com.shiba.medical.model.ReminderOutbox.NotificationKind;
+import com.shiba.medical.repository.DoctorRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Clinic-side cancel or shift of every live appointment a doctor has in a date range. The
+// whole block is handled by a fixed number of set-based statements whatever its size: lock
+// the rows, queue one notice per patient with INSERT ... SELECT, then one or two UPDATEs.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentAdminService {
+    private static final int MAX_RANGE_DAYS = 31;
+    private static final int MAX_SHIFT_MINUTES = 30 * 24 * 60;
+    private static final int MAX_REPORTED_CONFLICTS = 5;
+
+    private static final String LIVE_IN_RANGE =
+        "doctor_id = ? AND status IN ('SCHEDULED', 'RESCHEDULED') AND appointment_date >= ? AND appointment_date < ?";
+
+    private static final String LOCK_SQL =
+        "SELECT id, user_id, appointment_date, status FROM appointments WHERE " + LIVE_IN_RANGE +
+        " ORDER BY appointment_date, id FOR UPDATE";
+
+    // Notices carry the time the patient should now know about: the new one for a shift, the old one for a cancel
+    private static final String NOTICE_SQL =
+        "INSERT INTO reminder_outbox (appointment_id, phone, doctor_name, appointment_date, kind, status, attempts, created_at) " +
+        "SELECT a.id, u.phone, d.name, TIMESTAMPADD(MINUTE, ?, a.appointment_date), ?, 'PENDING', 0, ? " +
+        "FROM appointments a JOIN users u ON u.id = a.user_id JOIN doctors d ON d.id = a.doctor_id " +
+        "WHERE a.doctor_id = ? AND a.status IN ('SCHEDULED', 'RESCHEDULED') " +
+        "AND a.appointment_date >= ? AND a.appointment_date < ? " +
+        "AND NOT EXISTS (SELECT 1 FROM reminder_outbox o WHERE o.appointment_id = a.id " +
+        "AND o.appointment_date = TIMESTAMPADD(MINUTE, ?, a.appointment_date) AND o.kind = ?)";
+
+    private static final String CANCEL_SQL =
+        "UPDATE appointments SET status = 'CANCELLED', active_slot = NULL WHERE " + LIVE_IN_RANGE;
+
+    // A shift is two statements: the block first gives up its slots, so moving it onto
+    // itself (say everything one hour later) never trips uk_appointments_doctor_active_slot
+    private static final String RELEASE_SQL =
+        "UPDATE appointments SET active_slot = NULL WHERE " + LIVE_IN_RANGE;
+
+    private static final String SHIFT_SQL =
+        "UPDATE appointments SET appointment_date = TIMESTAMPADD(MINUTE, ?, appointment_date), " +
+        "active_slot = TIMESTAMPADD(MINUTE, ?, appointment_date), status = 'RESCHEDULED', reminder_sent_at = NULL " +
+        "WHERE " + LIVE_IN_RANGE;
+
+    private static final String OCCUPIED_SQL =
+        "SELECT id, appointment_date FROM appointments WHERE " + LIVE_IN_RANGE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DoctorRepository doctorRepository;
+    private final AvailabilityEngine availabilityEngine;
+    private final BookingLocks bookingLocks;
+    private final UtilizationStats utilizationStats;
+
+    @Transactional
+    @Timed(value = "appointments.bulk", histogram = true)
+    public BulkAppointmentResult apply(BulkAppointmentRequest request) {
+        validate(request);
+        Long doctorId = request.getDoctorId();
+        Long fieldId = doctorRepository.findById(doctorId)
+            .orElseThrow(() -> new RuntimeException("Doctor not found"))
+            .getMedicalField().getId();
+        int shift = request.getAction() == Action.SHIFT ? request.getShiftMinutes() : 0;
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = request.getFrom().atStartOfDay();
+        if (start.isBefore(now)) {
+            start = now;
+        }
+        Timestamp from = Timestamp.valueOf(start);
+        Timestamp to = Timestamp.valueOf(request.getTo().plusDays(1).atStartOfDay());
+
+        // Single-appointment bookings for this doctor wait on the same stripe until we commit
+        bookingLocks.lockForTransaction(doctorId);
+        List<AffectedAppointment> affected = jdbcTemplate.query(LOCK_SQL, (rs, rowNum) -> {
+            LocalDateTime previous = rs.getTimestamp("appointment_date").toLocalDateTime();
+            return new AffectedAppointment(rs.getLong("id"), rs.getLong("user_id"),
+                AppointmentStatus.valueOf(rs.getString("status")), previous,
+                shift == 0 ? null : previous.plusMinutes(shift));
+        }, doctorId, from, to);
+        if (affected.isEmpty()) {
+            return new BulkAppointmentResult(doctorId, request.getAction(), 0, 0, affected);
+        }
+        if (shift != 0) {
+            checkShiftTargets(doctorId, affected, now);
+        }
+
+        NotificationKind kind = shift == 0 ? NotificationKind.CANCELLED : NotificationKind.RESCHEDULED;
+        int queued = jdbcTemplate.update(NOTICE_SQL, shift, kind.name(), Timestamp.valueOf(now),
+            doctorId, from, to, shift, kind.name());
+
+        List<LocalDateTime> previousDates = affected.stream().map(AffectedAppointment::getPreviousDate).toList();
+        if (shift == 0) {
+            jdbcTemplate.update(CANCEL_SQL, doctorId, from, to);
+            availabilityEngine.moveAll(doctorId, previousDates, List.of());
+        } else {
+            jdbcTemplate.update(RELEASE_SQL, doctorId, from, to);
+            jdbcTemplate.update(SHIFT_SQL, shift, shift, doctorId, from, to);
+            availabilityEngine.moveAll(doctorId, previousDates,
+                affected.stream().map(AffectedAppointment::getNewDate).toList());
+        }
+
+        for (AffectedAppointment appointment : affected) {
+            utilizationStats.record(doctorId, fieldId, appointment.getPreviousDate(), appointment.getPreviousStatus(),
+                shift == 0 ? appointment.getPreviousDate() : appointment.getNewDate(),
+                shift == 0 ? AppointmentStatus.CANCELLED : AppointmentStatus.RESCHEDULED);
+        }
+
+        log.info("Bulk {} of {} appointments for doctor {} ({} notices queued)",
+            request.getAction(), affected.size(), doctorId, queued);
+        return new BulkAppointmentResult(doctorId, request.getAction(), affected.size(), queued, affected);
+    }
+
+    private static void validate(BulkAppointmentRequest request) {
+        if (request.getDoctorId() == null || request.getFrom() == null || request.getTo() == null
+                || request.getAction() == null) {
+            throw new RuntimeException("doctorId, from, to and action are required");
+        }
+        if (request.getTo().isBefore(request.getFrom())) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(request.getFrom(), request.getTo()) >= MAX_RANGE_DAYS) {
+            throw new RuntimeException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+        if (request.getAction() == Action.SHIFT) {
+            Integer minutes = request.getShiftMinutes();
+            if (minutes == null || minutes == 0 || Math.abs(minutes) > MAX_SHIFT_MINUTES) {
+                throw new RuntimeException("shiftMinutes must be non-zero and at most " + MAX_SHIFT_MINUTES + " either way");
+            }
+        }
+    }
+
+    // Targets must be start times of the doctor's schedule (so not under a CLOSED exception) and
+    // may land on the block's own old slots, but not on anyone else's booking or in the past
+    private void checkShiftTargets(Long doctorId, List<AffectedAppointment> affected, LocalDateTime now) {
+        LocalDateTime first = affected.get(0).getNewDate();
+        LocalDateTime last = affected.get(affected.size() - 1).getNewDate();
+        if (!first.isAfter(now)) {
+            throw new RuntimeException("Cannot shift appointments into the past");
+        }
+
+        List<LocalDateTime> offSchedule = affected.stream()
+            .map(AffectedAppointment::getNewDate)
+            .filter(at -> !availabilityEngine.isOnSchedule(doctorId, at))
+            .toList();
+        if (!offSchedule.isEmpty()) {
+            throw new RuntimeException("Shift moves " + offSchedule.size() + " appointment(s) outside the doctor's hours, first at "
+                + offSchedule.subList(0, Math.min(offSchedule.size(), MAX_REPORTED_CONFLICTS)));
+        }
+
+        Set<Long> moving = new HashSet<>();
+        Set<LocalDateTime> targets = new HashSet<>();
+        for (AffectedAppointment appointment : affected) {
+            moving.add(appointment.getAppointmentId());
+            targets.add(appointment.getNewDate());
+        }
+        List<LocalDateTime> conflicts = new ArrayList<>();
+        jdbcTemplate.query(OCCUPIED_SQL, rs -> {
+            LocalDateTime taken = rs.getTimestamp("appointment_date").toLocalDateTime();
+            if (!moving.contains(rs.getLong("id")) && targets.contains(taken)) {
+                conflicts.add(taken);
+            }
+        }, doctorId, Timestamp.valueOf(first), Timestamp.valueOf(last.plusSeconds(1)));
+
+        if (!conflicts.isEmpty()) {
+            conflicts.sort(null);
+            throw new RuntimeException("Shift collides with " + conflicts.size() + " existing appointment(s), first at "
+                + conflicts.subList(0, Math.min(conflicts.size(), MAX_REPORTED_CONFLICTS)));
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.shiba.medical.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shiba.medical.dto.ExportFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+// Reporting export of every appointment in a date range for one doctor or one field. Rows
+// come off a forward-only, read-only JDBC cursor with a fixed fetch size and go straight to
+// the response; nothing is collected and no entities are materialised, so heap use is the
+// same for a hundred rows or ten million.
+@Service
+@Slf4j
+public class AppointmentExportService {
+    private static final int FETCH_SIZE = 1_000;
+    private static final int MAX_RANGE_DAYS = 366;
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private static final String SELECT_SQL =
+        "SELECT a.id, a.appointment_date, a.status, a.created_at, a.user_id, " +
+        "d.id AS doctor_id, d.name AS doctor_name, f.id AS medical_field_id, f.name AS medical_field_name " +
+        "FROM appointments a JOIN doctors d ON d.id = a.doctor_id JOIN medical_fields f ON f.id = d.medical_field_id " +
+        "WHERE a.appointment_date >= ? AND a.appointment_date < ? AND ";
+
+    private static final String[] COLUMNS = {"id", "appointmentDate", "status", "createdAt", "userId",
+        "doctorId", "doctorName", "medicalFieldId", "medicalFieldName"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnly;
+
+    public AppointmentExportService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        // Some drivers (PostgreSQL) only honour the fetch size inside a transaction
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    public void validate(Long doctorId, Long fieldId, LocalDate from, LocalDate to) {
+        if ((doctorId == null) == (fieldId == null)) {
+            throw new RuntimeException("Specify exactly one of doctorId or fieldId");
+        }
+        if (to.isBefore(from)) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new RuntimeException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+
+    // Runs on the response thread; call validate first so bad requests fail before the body starts
+    public long export(Long doctorId, Long fieldId, LocalDate from, LocalDate to, ExportFormat format, OutputStream out)
+            throws IOException {
+        long start = System.nanoTime();
+        String sql = SELECT_SQL + (doctorId != null ? "a.doctor_id = ?" : "d.medical_field_id = ?")
+            + " ORDER BY a.appointment_date, a.id";
+        Object[] args = {Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(to.plusDays(1).atStartOfDay()),
+            doctorId != null ? doctorId : fieldId};
+
+        long rows;
+        if (format == ExportFormat.CSV) {
+            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+                writer.write(String.join(",", COLUMNS));
+                writer.newLine();
+                rows = stream(sql, args, rs -> writeCsv(writer, rs));
+            }
+        } else {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                // One object per line; the newline is written after each row instead of Jackson's space between roots
+                generator.setRootValueSeparator(null);
+                rows = stream(sql, args, rs -> writeJson(generator, rs));
+            }
+        }
+
+        log.info("Exported {} appointments as {} in {} ms", rows, format, (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+
+    private long stream(String sql, Object[] args, RowCallbackHandler writer) {
+        long[] count = {0};
+        readOnly.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(FETCH_SIZE);
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            return statement;
+        }, rs -> {
+            writer.processRow(rs);
+            count[0]++;
+        }));
+        return count[0];
+    }
+
+    private static void writeJson(JsonGenerator generator, ResultSet rs) throws SQLException {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong("id"));
+            generator.writeStringField("appointmentDate", format(rs.getTimestamp("appointment_date")));
+            generator.writeStringField("status", rs.getString("status"));
+            generator.writeStringField("createdAt", format(rs.getTimestamp("created_at")));
+            generator.writeNumberField("userId", rs.getLong("user_id"));
+            generator.writeNumberField("doctorId", rs.getLong("doctor_id"));
+            generator.writeStringField("doctorName", rs.getString("doctor_name"));
+            generator.writeNumberField("medicalFieldId", rs.getLong("medical_field_id"));
+            generator.writeStringField("medicalFieldName", rs.getString("medical_field_name"));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            // Client went away; the unchecked exception aborts the cursor and releases the connection
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsv(BufferedWriter writer, ResultSet rs) throws SQLException {
+        try {
+            writer.write(rs.getLong("id") + ",");
+            writer.write(format(rs.getTimestamp("appointment_date")) + ",");
+            writer.write(rs.getString("status") + ",");
+            writer.write(nullToEmpty(format(rs.getTimestamp("created_at"))) + ",");
+            writer.write(rs.getLong("user_id") + ",");
+            writer.write(rs.getLong("doctor_id") + ",");
+            writer.write(csv(rs.getString("doctor_name")) + ",");
+            writer.write(rs.getLong("medical_field_id") + ",");
+            writer.write(csv(rs.getString("medical_field_name")));
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String format(Timestamp timestamp) {
+        return timestamp == null ? null : DATE_TIME.format(timestamp.toLocalDateTime());
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    // RFC 4180 quoting, only when the value needs it
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,6 +1,7 @@
 package com.shiba.medical.service;
 
 import com.shiba.medical.dto.AppointmentDTO;
+import com.shiba.medical.dto.AppointmentPage;
 import com.shiba.medical.dto.AppointmentRequest;
 import com.shiba.medical.model.Appointment;
 import com.shiba.medical.model.Doctor;
@@ -8,46 +9,76 @@ import com.shiba.medical.model.User;
 import com.shiba.medical.repository.AppointmentRepository;
 import com.shiba.medical.repository.DoctorRepository;
 import com.shiba.medical.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AppointmentService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final LocalDateTime END_OF_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     private final AppointmentRepository appointmentRepository;
     private final UserRepository userRepository;
     private final DoctorRepository doctorRepository;
+    private final AvailabilityEngine availabilityEngine;
+    private final BookingLocks bookingLocks;
+    private final UtilizationStats utilizationStats;
+    private final MeterRegistry meterRegistry;
 
-    public List<AppointmentDTO> getUserAppointments(Long userId) {
-        List<Appointment> appointments = appointmentRepository.findByUserId(userId);
-        return appointments.stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+    @Timed(value = "appointments.page", extraTags = {"history", "all"}, histogram = true)
+    public AppointmentPage getUserAppointments(Long userId, String cursor, int limit) {
+        return getPage(userId, cursor, limit, END_OF_TIME);
     }
 
     public List<AppointmentDTO> getUpcomingAppointments(Long userId) {
-        List<Appointment> appointments = appointmentRepository.findByUserIdAndAppointmentDateAfter(
-            userId, LocalDateTime.now());
+        List<Appointment> appointments = appointmentRepository.findByUserIdAndStatusAndAppointmentDateAfter(
+            userId, Appointment.AppointmentStatus.SCHEDULED, LocalDateTime.now());
         return appointments.stream()
-            .filter(a -> a.getStatus() == Appointment.AppointmentStatus.SCHEDULED)
             .map(this::convertToDTO)
             .collect(Collectors.toList());
     }
 
-    public List<AppointmentDTO> getPastAppointments(Long userId) {
-        List<Appointment> appointments = appointmentRepository.findByUserIdAndAppointmentDateBefore(
-            userId, LocalDateTime.now());
-        return appointments.stream()
+    @Timed(value = "appointments.page", extraTags = {"history", "past"}, histogram = true)
+    public AppointmentPage getPastAppointments(Long userId, String cursor, int limit) {
+        return getPage(userId, cursor, limit, LocalDateTime.now());
+    }
+
+    // Keyset pagination on (appointmentDate, id) descending; cost is independent of history length
+    private AppointmentPage getPage(Long userId, String cursor, int limit, LocalDateTime upperBound) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        PageCursor position = (cursor == null || cursor.isBlank())
+            ? new PageCursor(upperBound, Long.MAX_VALUE)
+            : PageCursor.decode(cursor);
+
+        List<Appointment> rows = appointmentRepository.findUserPageBefore(
+            userId, position.date(), position.id(), PageRequest.of(0, pageSize + 1));
+
+        List<AppointmentDTO> items = rows.stream()
+            .limit(pageSize)
             .map(this::convertToDTO)
             .collect(Collectors.toList());
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            AppointmentDTO last = items.get(items.size() - 1);
+            nextCursor = new PageCursor(last.getAppointmentDate(), last.getId()).encode();
+        }
+        return new AppointmentPage(items, nextCursor);
     }
 
     @Transactional
+    @Timed(value = "appointments.create", histogram = true)
     public AppointmentDTO createAppointment(Long userId, AppointmentRequest request) {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new RuntimeException("User not found"));
@@ -55,17 +86,19 @@ public class AppointmentService {
         Doctor doctor = doctorRepository.findById(request.getDoctorId())
             .orElseThrow(() -> new RuntimeException("Doctor not found"));
         
-        // Check for conflicts
-        if (appointmentRepository.existsByDoctorIdAndAppointmentDateAndStatus(
-            request.getDoctorId(), request.getAppointmentDate(), Appointment.AppointmentStatus.SCHEDULED)) {
-            throw new RuntimeException("Time slot is already booked");
-        }
-        
         // Check if appointment is in the past
         if (request.getAppointmentDate().isBefore(LocalDateTime.now())) {
             throw new RuntimeException("Cannot book appointment in the past");
         }
         
+        // Check the schedule and conflicts while holding the doctor's stripe until commit
+        bookingLocks.lockForTransaction(doctor.getId());
+        requireOnSchedule(doctor.getId(), request.getAppointmentDate());
+        if (appointmentRepository.existsByDoctorIdAndAppointmentDateAndStatusIn(
+            doctor.getId(), request.getAppointmentDate(), AvailabilityEngine.ACTIVE_STATUSES)) {
+            throw bookingConflict("create");
+        }
+        
         Appointment appointment = new Appointment();
         appointment.setUser(user);
         appointment.setDoctor(doctor);
@@ -73,50 +106,101 @@ public class AppointmentService {
         appointment.setNotes(request.getNotes());
         appointment.setStatus(Appointment.AppointmentStatus.SCHEDULED);
         
-        appointment = appointmentRepository.save(appointment);
+        appointment = saveBooking(appointment, "create");
+        availabilityEngine.book(doctor.getId(), appointment.getAppointmentDate());
+        utilizationStats.record(doctor.getId(), doctor.getMedicalField().getId(), null, null,
+            appointment.getAppointmentDate(), appointment.getStatus());
         return convertToDTO(appointment);
     }
 
     @Transactional
+    @Timed(value = "appointments.cancel", histogram = true)
     public AppointmentDTO cancelAppointment(Long userId, Long appointmentId) {
-        Appointment appointment = appointmentRepository.findById(appointmentId)
+        Appointment appointment = appointmentRepository.findDetailedById(appointmentId)
             .orElseThrow(() -> new RuntimeException("Appointment not found"));
         
         if (!appointment.getUser().getId().equals(userId)) {
             throw new RuntimeException("Unauthorized");
         }
         
+        Appointment.AppointmentStatus previousStatus = appointment.getStatus();
+        boolean wasActive = AvailabilityEngine.ACTIVE_STATUSES.contains(previousStatus);
         appointment.setStatus(Appointment.AppointmentStatus.CANCELLED);
         appointment = appointmentRepository.save(appointment);
+        if (wasActive) {
+            availabilityEngine.release(appointment.getDoctor().getId(), appointment.getAppointmentDate());
+        }
+        recordChange(appointment, appointment.getAppointmentDate(), previousStatus);
         return convertToDTO(appointment);
     }
 
     @Transactional
+    @Timed(value = "appointments.reschedule", histogram = true)
     public AppointmentDTO rescheduleAppointment(Long userId, Long appointmentId, LocalDateTime newDate) {
-        Appointment appointment = appointmentRepository.findById(appointmentId)
+        Appointment appointment = appointmentRepository.findDetailedById(appointmentId)
             .orElseThrow(() -> new RuntimeException("Appointment not found"));
         
         if (!appointment.getUser().getId().equals(userId)) {
             throw new RuntimeException("Unauthorized");
         }
         
-        // Check for conflicts with new date
-        if (appointmentRepository.existsByDoctorIdAndAppointmentDateAndStatus(
-            appointment.getDoctor().getId(), newDate, Appointment.AppointmentStatus.SCHEDULED)) {
-            throw new RuntimeException("Time slot is already booked");
-        }
-        
         // Check if new date is in the past
         if (newDate.isBefore(LocalDateTime.now())) {
             throw new RuntimeException("Cannot reschedule to a past date");
         }
         
+        // Check the schedule and conflicts at the new date
+        bookingLocks.lockForTransaction(appointment.getDoctor().getId());
+        requireOnSchedule(appointment.getDoctor().getId(), newDate);
+        if (appointmentRepository.existsByDoctorIdAndAppointmentDateAndStatusIn(
+            appointment.getDoctor().getId(), newDate, AvailabilityEngine.ACTIVE_STATUSES)) {
+            throw bookingConflict("reschedule");
+        }
+        
+        LocalDateTime previousDate = appointment.getAppointmentDate();
+        Appointment.AppointmentStatus previousStatus = appointment.getStatus();
+        boolean wasActive = AvailabilityEngine.ACTIVE_STATUSES.contains(previousStatus);
         appointment.setAppointmentDate(newDate);
         appointment.setStatus(Appointment.AppointmentStatus.RESCHEDULED);
-        appointment = appointmentRepository.save(appointment);
+        appointment.setReminderSentAt(null);
+        appointment = saveBooking(appointment, "reschedule");
+        if (wasActive) {
+            availabilityEngine.move(appointment.getDoctor().getId(), previousDate, newDate);
+        } else {
+            availabilityEngine.book(appointment.getDoctor().getId(), newDate);
+        }
+        recordChange(appointment, previousDate, previousStatus);
         return convertToDTO(appointment);
     }
 
+    private void recordChange(Appointment appointment, LocalDateTime previousDate,
+                              Appointment.AppointmentStatus previousStatus) {
+        Doctor doctor = appointment.getDoctor();
+        utilizationStats.record(doctor.getId(), doctor.getMedicalField().getId(), previousDate, previousStatus,
+            appointment.getAppointmentDate(), appointment.getStatus());
+    }
+
+    // Off-grid times would be invisible to the availability bitmap and block later schedule imports
+    private void requireOnSchedule(Long doctorId, LocalDateTime at) {
+        if (!availabilityEngine.isOnSchedule(doctorId, at)) {
+            throw new RuntimeException("Time slot is not on the doctor's schedule");
+        }
+    }
+
+    // The unique (doctor_id, active_slot) constraint is the backstop if another instance won the race
+    private Appointment saveBooking(Appointment appointment, String operation) {
+        try {
+            return appointmentRepository.saveAndFlush(appointment);
+        } catch (DataIntegrityViolationException e) {
+            throw bookingConflict(operation);
+        }
+    }
+
+    private RuntimeException bookingConflict(String operation) {
+        meterRegistry.counter("appointments.booking.conflicts", "operation", operation).increment();
+        return new RuntimeException("Time slot is already booked");
+    }
+
     private AppointmentDTO convertToDTO(Appointment appointment) {
         return new AppointmentDTO(
             appointment.getId(),
@@ -130,5 +214,22 @@ public class AppointmentService {
             appointment.getCreatedAt()
         );
     }
-}
 
+    record PageCursor(LocalDateTime date, Long id) {
+        String encode() {
+            String raw = date + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static PageCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                                      Long.parseLong(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+    }
+}
@@ -0,0 +1,597 @@
+package com.shiba.medical.service;
+
+import com.shiba.medical.model.Appointment;
+import com.shiba.medical.model.ScheduleException.ExceptionType;
+import com.shiba.medical.repository.AppointmentRepository;
+import com.shiba.medical.repository.DoctorRepository;
+import com.shiba.medical.repository.ScheduleExceptionRepository;
+import com.shiba.medical.repository.ScheduleTemplateRepository;
+import com.shiba.medical.repository.TimeSlotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Keeps a per-doctor, per-day bitmap of booked slots in memory so availability
+// lookups never hit the database. Bit i of a day refers to the i-th start time of the
+// doctor's WeeklySchedule for that date. Only today and later are tracked: earlier days have
+// no free slots, their bookings are not loaded and are pruned nightly. Schedule exceptions
+// older than EXCEPTION_HORIZON_DAYS are not loaded either.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AvailabilityEngine {
+    static final List<Appointment.AppointmentStatus> ACTIVE_STATUSES = List.of(
+        Appointment.AppointmentStatus.SCHEDULED, Appointment.AppointmentStatus.RESCHEDULED);
+
+    private static final int EXCEPTION_HORIZON_DAYS = 31;
+
+    private final TimeSlotRepository timeSlotRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final ScheduleTemplateRepository scheduleTemplateRepository;
+    private final ScheduleExceptionRepository scheduleExceptionRepository;
+    private final DoctorRepository doctorRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Only doctors with a schedule get a calendar, so the map is bounded by real doctors
+    private volatile Map<Long, DoctorCalendar> calendars = new ConcurrentHashMap<>();
+
+    // Committed changes are applied under the read lock. A reload swaps its state in under the
+    // write lock, after replaying every change journaled since its queries started.
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private Queue<Change> journal;
+
+    // Shared by every load so doctors on the same hours share their slot arrays. A full reload
+    // starts a fresh one, which drops arrays left over from schedules that no longer exist.
+    private volatile WeeklySchedule.Interner interner = new WeeklySchedule.Interner();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    // For endpoints taking a doctorId from the client; doctors with a calendar are known without a query
+    public void requireDoctor(Long doctorId) {
+        if (!calendars.containsKey(doctorId) && !doctorRepository.existsById(doctorId)) {
+            throw new RuntimeException("Doctor not found");
+        }
+    }
+
+    public List<LocalTime> getAvailableSlots(Long doctorId, LocalDate date) {
+        LocalDateTime now = LocalDateTime.now();
+        if (date.isBefore(now.toLocalDate())) {
+            return List.of();
+        }
+        return calendar(doctorId).freeSlots(date, bookableFrom(date, now));
+    }
+
+    // Loads any doctors not yet in memory with one slot query and one appointment query for the whole batch
+    public Map<Long, Map<LocalDate, List<LocalTime>>> getAvailability(Collection<Long> doctorIds, LocalDate from, LocalDate to) {
+        preload(doctorIds);
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Map<LocalDate, List<LocalTime>>> result = new LinkedHashMap<>();
+        for (Long doctorId : doctorIds) {
+            DoctorCalendar calendar = preloaded(doctorId);
+            Map<LocalDate, List<LocalTime>> days = new LinkedHashMap<>();
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                days.put(date, date.isBefore(now.toLocalDate()) ? List.of() : calendar.freeSlots(date, bookableFrom(date, now)));
+            }
+            result.put(doctorId, days);
+        }
+        return result;
+    }
+
+    // Earliest free slots at or after `from` across the given doctors: a k-way merge of lazily
+    // advanced per-doctor streams on a priority queue. Work is bounded by doctors + limit heap
+    // operations plus the empty days each doctor skips before `until`.
+    public List<FreeSlot> findEarliest(Collection<Long> doctorIds, LocalDateTime from, LocalDate until,
+                                       int limit, boolean onePerDoctor) {
+        Collection<Long> ids = new LinkedHashSet<>(doctorIds);
+        preload(ids);
+        PriorityQueue<SlotCursor> queue = new PriorityQueue<>(Math.max(1, ids.size()), SlotCursor.ORDER);
+        for (Long doctorId : ids) {
+            SlotCursor cursor = new SlotCursor(doctorId, preloaded(doctorId), until);
+            if (cursor.seek(from.toLocalDate(), from.toLocalTime(), true)) {
+                queue.add(cursor);
+            }
+        }
+
+        List<FreeSlot> result = new ArrayList<>(limit);
+        while (result.size() < limit && !queue.isEmpty()) {
+            SlotCursor cursor = queue.poll();
+            result.add(new FreeSlot(cursor.doctorId, cursor.current));
+            if (!onePerDoctor && cursor.seek(cursor.current.toLocalDate(), cursor.current.toLocalTime(), false)) {
+                queue.add(cursor);
+            }
+        }
+        return result;
+    }
+
+    // Bookable start times on that date, booked or not
+    public int capacity(Long doctorId, LocalDate date) {
+        return calendar(doctorId).capacity(date);
+    }
+
+    public int capacity(Collection<Long> doctorIds, LocalDate date) {
+        preload(doctorIds);
+        int total = 0;
+        for (Long doctorId : doctorIds) {
+            total += preloaded(doctorId).capacity(date);
+        }
+        return total;
+    }
+
+    public boolean isFree(Long doctorId, LocalDateTime at) {
+        return calendar(doctorId).isFree(at);
+    }
+
+    // A start time of the doctor's schedule on that date, after exceptions, booked or not
+    public boolean isOnSchedule(Long doctorId, LocalDateTime at) {
+        return calendar(doctorId).isOnSchedule(at);
+    }
+
+    // Live appointments from now on, per doctor, that are not on a start time of the doctor's schedule
+    // as the current transaction sees it. Schedule writers call this before committing so a change of
+    // hours or a closure never strands a booking outside the calendar.
+    public Map<Long, List<LocalDateTime>> findOffSchedule(Collection<Long> doctorIds) {
+        List<Long> ids = List.copyOf(doctorIds);
+        Map<Long, DoctorCalendar> fresh = load(
+            timeSlotRepository.findAvailableStartTimesByDoctorIdIn(ids),
+            scheduleTemplateRepository.findRowsByDoctorIdIn(ids),
+            scheduleExceptionRepository.findRowsByDoctorIdInFrom(ids, exceptionHorizon()),
+            List.of(), new WeeklySchedule.Interner());
+        Map<Long, List<LocalDateTime>> result = new TreeMap<>();
+        for (Object[] row : appointmentRepository.findActiveDoctorDatesByDoctorIdIn(ids, ACTIVE_STATUSES, LocalDateTime.now())) {
+            LocalDateTime at = (LocalDateTime) row[1];
+            if (!fresh.getOrDefault((Long) row[0], DoctorCalendar.EMPTY).isOnSchedule(at)) {
+                result.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(at);
+            }
+        }
+        result.values().forEach(dates -> dates.sort(null));
+        return result;
+    }
+
+    // Mutations are applied after commit so a rolled-back booking never leaks into the bitmap
+    // or out to SlotAvailabilityChangedEvent listeners
+    public void book(Long doctorId, LocalDateTime at) {
+        TransactionCallbacks.afterCommit(() -> commit(new Change(doctorId, List.of(), List.of(at))));
+    }
+
+    public void release(Long doctorId, LocalDateTime at) {
+        TransactionCallbacks.afterCommit(() -> commit(new Change(doctorId, List.of(at), List.of())));
+    }
+
+    public void move(Long doctorId, LocalDateTime from, LocalDateTime to) {
+        TransactionCallbacks.afterCommit(() -> commit(new Change(doctorId, List.of(from), List.of(to))));
+    }
+
+    // Frees every `from` slot before booking any `to` slot, so a block shifted onto itself stays consistent
+    public void moveAll(Long doctorId, Collection<LocalDateTime> from, Collection<LocalDateTime> to) {
+        Change change = new Change(doctorId, List.copyOf(from), List.copyOf(to));
+        TransactionCallbacks.afterCommit(() -> commit(change));
+    }
+
+    public void evictDoctor(Long doctorId) {
+        swapLock.readLock().lock();
+        try {
+            calendars.remove(doctorId);
+            if (journal != null) {
+                journal.add(new Change(doctorId, null, null));
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        changed(doctorId, null);
+    }
+
+    // Not @Transactional: onStartup calls it on this instance, past the proxy. The reload needs no
+    // transaction anyway, each query runs in its own and the journal covers what commits between them.
+    public synchronized void rebuild() {
+        Map<Long, DoctorCalendar> fresh = loadJournaled();
+        swapLock.writeLock().lock();
+        try {
+            swapIn(fresh);
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        log.info("Availability engine loaded {} doctor calendars", fresh.size());
+    }
+
+    // Reloads from the database, logs every doctor-day that drifted and swaps in the fresh state
+    @Scheduled(fixedDelayString = "${availability.consistency-check-interval:3600000}",
+               initialDelayString = "${availability.consistency-check-interval:3600000}")
+    public synchronized int verifyConsistency() {
+        Map<Long, DoctorCalendar> fresh = loadJournaled();
+        int mismatches = 0;
+        List<SlotAvailabilityChangedEvent> drifted = new ArrayList<>();
+
+        swapLock.writeLock().lock();
+        try {
+            // Both sides are frozen here: nothing changes memory while the write lock is held.
+            // Doctors never loaded into memory cannot have drifted.
+            Map<Long, DoctorCalendar> current = swapIn(fresh);
+            for (Long doctorId : new TreeSet<>(current.keySet())) {
+                DoctorCalendar expected = fresh.getOrDefault(doctorId, DoctorCalendar.EMPTY);
+                DoctorCalendar actual = current.get(doctorId);
+                for (LocalDate date : expected.differingDays(actual)) {
+                    mismatches++;
+                    log.warn("Availability drift for doctor {} on {}: memory={} database={}",
+                        doctorId, date, actual.freeSlots(date), expected.freeSlots(date));
+                    drifted.add(new SlotAvailabilityChangedEvent(doctorId, date));
+                }
+            }
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        drifted.forEach(eventPublisher::publishEvent);
+        if (mismatches == 0) {
+            log.info("Availability engine consistent with database ({} doctors)", fresh.size());
+        } else {
+            log.warn("Availability engine resynchronised, {} doctor-days differed", mismatches);
+        }
+        return mismatches;
+    }
+
+    // Runs daily; a day that has passed can no longer be booked, so its bitmap is dead weight
+    @Scheduled(cron = "${availability.prune-cron:0 5 0 * * *}")
+    public void prunePastDays() {
+        LocalDate today = LocalDate.now();
+        int pruned = 0;
+        for (DoctorCalendar calendar : calendars.values()) {
+            pruned += calendar.pruneBefore(today);
+        }
+        log.info("Availability engine pruned {} past doctor-days", pruned);
+    }
+
+    private void commit(Change change) {
+        swapLock.readLock().lock();
+        try {
+            change.applyTo(calendar(change.doctorId()));
+            if (journal != null) {
+                journal.add(change);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        change.days().forEach(date -> changed(change.doctorId(), date));
+    }
+
+    // The journal starts before the first query: every change applied before that point was
+    // committed before the reload reads the database, every later one is journaled
+    private Map<Long, DoctorCalendar> loadJournaled() {
+        setJournal(new ConcurrentLinkedQueue<>());
+        try {
+            return loadAll();
+        } catch (RuntimeException e) {
+            setJournal(null);
+            throw e;
+        }
+    }
+
+    private void setJournal(Queue<Change> value) {
+        swapLock.writeLock().lock();
+        try {
+            journal = value;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock; returns the state that was replaced
+    private Map<Long, DoctorCalendar> swapIn(Map<Long, DoctorCalendar> fresh) {
+        for (Change change : journal) {
+            if (change.isEviction()) {
+                fresh.remove(change.doctorId());
+            } else if (fresh.containsKey(change.doctorId())) {
+                change.applyTo(fresh.get(change.doctorId()));
+            }
+        }
+        journal = null;
+        Map<Long, DoctorCalendar> previous = calendars;
+        calendars = new ConcurrentHashMap<>(fresh);
+        return previous;
+    }
+
+    // Loaded outside the map so no bin lock is held across queries. Of two racing loaders the
+    // first to publish wins, and every change is applied to whichever calendar is in the map.
+    private DoctorCalendar calendar(Long doctorId) {
+        Map<Long, DoctorCalendar> current = calendars;
+        DoctorCalendar calendar = current.get(doctorId);
+        if (calendar != null) {
+            return calendar;
+        }
+        DoctorCalendar loaded = loadDoctor(doctorId);
+        if (loaded == DoctorCalendar.EMPTY) {
+            return loaded;
+        }
+        DoctorCalendar existing = current.putIfAbsent(doctorId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    // For ids already passed through preload, which leaves doctors without a schedule out of the map
+    private DoctorCalendar preloaded(Long doctorId) {
+        return calendars.getOrDefault(doctorId, DoctorCalendar.EMPTY);
+    }
+
+    private DoctorCalendar loadDoctor(Long doctorId) {
+        List<Long> ids = List.of(doctorId);
+        WeeklySchedule.Builder schedule = new WeeklySchedule.Builder(interner);
+        timeSlotRepository.findAvailableStartTimesByDoctorId(doctorId).forEach(schedule::legacySlot);
+        scheduleTemplateRepository.findRowsByDoctorIdIn(ids).forEach(row -> addTemplate(schedule, row));
+        scheduleExceptionRepository.findRowsByDoctorIdInFrom(ids, exceptionHorizon()).forEach(row -> addException(schedule, row));
+        if (schedule.isEmpty()) {
+            return DoctorCalendar.EMPTY;
+        }
+
+        DoctorCalendar calendar = new DoctorCalendar(schedule.build());
+        for (LocalDateTime at : appointmentRepository.findActiveDatesByDoctorId(doctorId, ACTIVE_STATUSES, trackedFrom())) {
+            calendar.mark(at, true);
+        }
+        return calendar;
+    }
+
+    private void preload(Collection<Long> doctorIds) {
+        List<Long> missing = doctorIds.stream().filter(id -> !calendars.containsKey(id)).distinct().toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+        Map<Long, DoctorCalendar> loaded = load(
+            timeSlotRepository.findAvailableStartTimesByDoctorIdIn(missing),
+            scheduleTemplateRepository.findRowsByDoctorIdIn(missing),
+            scheduleExceptionRepository.findRowsByDoctorIdInFrom(missing, exceptionHorizon()),
+            appointmentRepository.findActiveDoctorDatesByDoctorIdIn(missing, ACTIVE_STATUSES, trackedFrom()),
+            interner);
+        loaded.forEach(calendars::putIfAbsent);
+    }
+
+    private Map<Long, DoctorCalendar> loadAll() {
+        interner = new WeeklySchedule.Interner();
+        return load(timeSlotRepository.findAvailableStartTimes(),
+                    scheduleTemplateRepository.findAllRows(),
+                    scheduleExceptionRepository.findRowsFrom(exceptionHorizon()),
+                    appointmentRepository.findActiveDoctorDates(ACTIVE_STATUSES, trackedFrom()),
+                    interner);
+    }
+
+    private static Map<Long, DoctorCalendar> load(List<Object[]> slotRows, List<Object[]> templateRows,
+                                                  List<Object[]> exceptionRows, List<Object[]> bookingRows,
+                                                  WeeklySchedule.Interner interner) {
+        Map<Long, WeeklySchedule.Builder> schedules = new HashMap<>();
+        for (Object[] row : slotRows) {
+            schedules.computeIfAbsent((Long) row[0], id -> new WeeklySchedule.Builder(interner)).legacySlot((LocalTime) row[1]);
+        }
+        for (Object[] row : templateRows) {
+            addTemplate(schedules.computeIfAbsent((Long) row[0], id -> new WeeklySchedule.Builder(interner)), row);
+        }
+        for (Object[] row : exceptionRows) {
+            addException(schedules.computeIfAbsent((Long) row[0], id -> new WeeklySchedule.Builder(interner)), row);
+        }
+
+        Map<Long, DoctorCalendar> result = new HashMap<>();
+        schedules.forEach((doctorId, schedule) -> result.put(doctorId, new DoctorCalendar(schedule.build())));
+        for (Object[] row : bookingRows) {
+            DoctorCalendar calendar = result.get((Long) row[0]);
+            if (calendar != null) {
+                calendar.mark((LocalDateTime) row[1], true);
+            }
+        }
+        return result;
+    }
+
+    // Row of [doctorId, dayOfWeek, startTime, endTime, slotMinutes]
+    private static void addTemplate(WeeklySchedule.Builder schedule, Object[] row) {
+        schedule.weekly((DayOfWeek) row[1], (LocalTime) row[2], (LocalTime) row[3], (Integer) row[4]);
+    }
+
+    // Row of [doctorId, date, type, startTime, endTime, slotMinutes]
+    private static void addException(WeeklySchedule.Builder schedule, Object[] row) {
+        schedule.exception((LocalDate) row[1], (ExceptionType) row[2], (LocalTime) row[3], (LocalTime) row[4], (Integer) row[5]);
+    }
+
+    // Slots that started earlier today are past; createAppointment rejects them
+    private static LocalTime bookableFrom(LocalDate date, LocalDateTime now) {
+        return date.equals(now.toLocalDate()) ? now.toLocalTime() : null;
+    }
+
+    private static LocalDateTime trackedFrom() {
+        return LocalDate.now().atStartOfDay();
+    }
+
+    private static LocalDate exceptionHorizon() {
+        return LocalDate.now().minusDays(EXCEPTION_HORIZON_DAYS);
+    }
+
+    private void changed(Long doctorId, LocalDate date) {
+        eventPublisher.publishEvent(new SlotAvailabilityChangedEvent(doctorId, date));
+    }
+
+    public record FreeSlot(Long doctorId, LocalDateTime at) {
+    }
+
+    // A committed change to one doctor's bookings; null lists mark an eviction
+    private record Change(Long doctorId, List<LocalDateTime> released, List<LocalDateTime> booked) {
+        boolean isEviction() {
+            return released == null;
+        }
+
+        void applyTo(DoctorCalendar calendar) {
+            released.forEach(at -> calendar.mark(at, false));
+            booked.forEach(at -> calendar.mark(at, true));
+        }
+
+        TreeSet<LocalDate> days() {
+            TreeSet<LocalDate> days = new TreeSet<>();
+            released.forEach(at -> days.add(at.toLocalDate()));
+            booked.forEach(at -> days.add(at.toLocalDate()));
+            return days;
+        }
+    }
+
+    // One doctor's position in the earliest-slot merge
+    private static final class SlotCursor {
+        static final Comparator<SlotCursor> ORDER = Comparator
+            .comparing((SlotCursor cursor) -> cursor.current)
+            .thenComparing(cursor -> cursor.doctorId);
+
+        final Long doctorId;
+        final DoctorCalendar calendar;
+        final LocalDate until;
+        LocalDateTime current;
+
+        SlotCursor(Long doctorId, DoctorCalendar calendar, LocalDate until) {
+            this.doctorId = doctorId;
+            this.calendar = calendar;
+            this.until = until;
+        }
+
+        // Moves to the first free slot at (or strictly after, unless inclusive) the given position
+        boolean seek(LocalDate date, LocalTime time, boolean inclusive) {
+            for (LocalDate day = date; !day.isAfter(until); day = day.plusDays(1)) {
+                LocalTime next = day.equals(date) ? calendar.nextFree(day, time, inclusive) : calendar.nextFree(day, null, true);
+                if (next != null) {
+                    current = day.atTime(next);
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    static final class DoctorCalendar {
+        static final DoctorCalendar EMPTY = new DoctorCalendar(WeeklySchedule.EMPTY);
+
+        private final WeeklySchedule schedule;
+        private final Map<LocalDate, BitSet> booked = new HashMap<>();
+
+        DoctorCalendar(WeeklySchedule schedule) {
+            this.schedule = schedule;
+        }
+
+        int capacity(LocalDate date) {
+            return schedule.slotsFor(date).length;
+        }
+
+        List<LocalTime> freeSlots(LocalDate date) {
+            return freeSlots(date, null);
+        }
+
+        // Free start times on date from `time` on; a null time means the start of the day
+        synchronized List<LocalTime> freeSlots(LocalDate date, LocalTime time) {
+            LocalTime[] slots = schedule.slotsFor(date);
+            int start = indexFrom(slots, time, true);
+            BitSet day = booked.get(date);
+            if (day == null || day.isEmpty()) {
+                return Arrays.asList(Arrays.copyOfRange(slots, start, slots.length));
+            }
+            List<LocalTime> free = new ArrayList<>();
+            for (int i = day.nextClearBit(start); i < slots.length; i = day.nextClearBit(i + 1)) {
+                free.add(slots[i]);
+            }
+            return free;
+        }
+
+        // First free start time on date from `time` on; a null time means the start of the day
+        synchronized LocalTime nextFree(LocalDate date, LocalTime time, boolean inclusive) {
+            LocalTime[] slots = schedule.slotsFor(date);
+            int index = indexFrom(slots, time, inclusive);
+            BitSet day = booked.get(date);
+            if (day != null) {
+                index = day.nextClearBit(index);
+            }
+            return index < slots.length ? slots[index] : null;
+        }
+
+        private static int indexFrom(LocalTime[] slots, LocalTime time, boolean inclusive) {
+            if (time == null) {
+                return 0;
+            }
+            int position = Arrays.binarySearch(slots, time);
+            return position >= 0 ? (inclusive ? position : position + 1) : -position - 1;
+        }
+
+        boolean isOnSchedule(LocalDateTime at) {
+            return Arrays.binarySearch(schedule.slotsFor(at.toLocalDate()), at.toLocalTime()) >= 0;
+        }
+
+        synchronized boolean isFree(LocalDateTime at) {
+            int index = Arrays.binarySearch(schedule.slotsFor(at.toLocalDate()), at.toLocalTime());
+            if (index < 0) {
+                return false;
+            }
+            BitSet day = booked.get(at.toLocalDate());
+            return day == null || !day.get(index);
+        }
+
+        synchronized void mark(LocalDateTime at, boolean taken) {
+            LocalDate date = at.toLocalDate();
+            LocalTime[] slots = schedule.slotsFor(date);
+            int index = Arrays.binarySearch(slots, at.toLocalTime());
+            if (index < 0) {
+                return;
+            }
+            if (taken) {
+                booked.computeIfAbsent(date, d -> new BitSet(slots.length)).set(index);
+            } else {
+                BitSet day = booked.get(date);
+                if (day != null) {
+                    day.clear(index);
+                    if (day.isEmpty()) {
+                        booked.remove(date);
+                    }
+                }
+            }
+        }
+
+        synchronized int pruneBefore(LocalDate date) {
+            int before = booked.size();
+            booked.keySet().removeIf(day -> day.isBefore(date));
+            return before - booked.size();
+        }
+
+        List<LocalDate> differingDays(DoctorCalendar other) {
+            List<LocalDate> result = new ArrayList<>();
+            TreeSet<LocalDate> dates;
+            synchronized (this) {
+                dates = new TreeSet<>(booked.keySet());
+            }
+            synchronized (other) {
+                dates.addAll(other.booked.keySet());
+            }
+            for (LocalDate date : dates) {
+                if (!Objects.equals(freeSlots(date), other.freeSlots(date))) {
+                    result.add(date);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.shiba.medical.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Lock striping keyed by doctor id: bookings for the same doctor serialize,
+// bookings for unrelated doctors only contend when they hash to the same stripe.
+@Component
+public class BookingLocks {
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public BookingLocks(@Value("${booking.lock-stripes:64}") int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    // Holds the doctor's stripe until the surrounding transaction completes,
+    // so the conflict check and the commit happen under the same lock.
+    public void lockForTransaction(Long doctorId) {
+        lockForTransaction(stripeFor(doctorId));
+    }
+
+    // Several doctors at once. Stripes are taken in index order, each once, so two callers
+    // locking overlapping sets cannot deadlock.
+    public void lockAllForTransaction(Collection<Long> doctorIds) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        doctorIds.forEach(doctorId -> indexes.add(indexFor(doctorId)));
+        indexes.forEach(index -> lockForTransaction(stripes[index]));
+    }
+
+    private void lockForTransaction(ReentrantLock lock) {
+        lock.lock();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.unlock();
+            throw new IllegalStateException("Booking locks require an active transaction");
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    ReentrantLock stripeFor(Long doctorId) {
+        return stripes[indexFor(doctorId)];
+    }
+
+    private int indexFor(Long doctorId) {
+        int h = doctorId.hashCode();
+        h ^= (h >>> 16);
+        return (h * 0x9E3779B9) >>> 16 & mask;
+    }
+}
@@ -1,6 +1,6 @@
 package com.shiba.medical.service;
 
-import com.shiba.medical.model.Doctor;
+import com.shiba.medical.dto.DoctorDTO;
 import com.shiba.medical.repository.DoctorRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -12,16 +12,8 @@ import java.util.List;
 public class DoctorService {
     private final DoctorRepository doctorRepository;
 
-    public List<Doctor> getDoctorsByField(Long fieldId) {
-        return doctorRepository.findByMedicalFieldId(fieldId);
-    }
-
-    public List<Doctor> searchDoctors(String query) {
-        return doctorRepository.findByNameContainingIgnoreCase(query);
-    }
-
-    public List<Doctor> searchDoctorsByField(Long fieldId, String query) {
-        return doctorRepository.findByMedicalFieldIdAndNameContainingIgnoreCase(fieldId, query);
+    // Single-statement projections; never touches lazy medicalField proxies
+    public List<DoctorDTO> getAllDoctors() {
+        return doctorRepository.findAllSummaries();
     }
 }
-
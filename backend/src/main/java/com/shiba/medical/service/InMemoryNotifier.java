@@ -0,0 +1,31 @@
+package com.shiba.medical.service;
+
+import com.shiba.medical.dto.ReminderMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Stand-in notifier for tests and local runs; keeps one delivered message per appointment
+@Component
+@ConditionalOnProperty(name = "reminder.notifier", havingValue = "memory")
+public class InMemoryNotifier implements Notifier {
+    private final Map<Long, ReminderMessage> delivered = new ConcurrentHashMap<>();
+
+    @Override
+    public void send(List<ReminderMessage> batch) {
+        for (ReminderMessage message : batch) {
+            delivered.putIfAbsent(message.getAppointmentId(), message);
+        }
+    }
+
+    public Map<Long, ReminderMessage> getDelivered() {
+        return Map.copyOf(delivered);
+    }
+
+    public void clear() {
+        delivered.clear();
+    }
+}
@@ -0,0 +1,49 @@
+package com.shiba.medical.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Default store: a concurrent map keyed by phone, so sending and verifying codes costs no DB writes.
+// Expired codes are rejected on read and removed by a periodic sweep.
+@Component
+@ConditionalOnProperty(name = "otp.store", havingValue = "memory", matchIfMissing = true)
+@Slf4j
+public class InMemoryOTPStore implements OTPStore {
+    private final Map<String, Entry> codes = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(String phone, String code, LocalDateTime expiresAt) {
+        // Replaces any previous code for this phone
+        codes.put(phone, new Entry(code, expiresAt));
+    }
+
+    @Override
+    public boolean consume(String phone, String code) {
+        Entry entry = codes.get(phone);
+        if (entry == null || !entry.code().equals(code)) {
+            return false;
+        }
+        // remove(key, value) makes the code single-use under concurrent verifies
+        return codes.remove(phone, entry) && entry.expiresAt().isAfter(LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${otp.sweep-interval:60000}")
+    public void sweepExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int before = codes.size();
+        codes.values().removeIf(entry -> !entry.expiresAt().isAfter(now));
+        int removed = before - codes.size();
+        if (removed > 0) {
+            log.debug("Swept {} expired OTP codes", removed);
+        }
+    }
+
+    private record Entry(String code, LocalDateTime expiresAt) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.shiba.medical.service;
+
+import com.shiba.medical.model.OTPCode;
+import com.shiba.medical.repository.OTPCodeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+// Database-backed store for deployments that need codes shared across instances
+@Component
+@ConditionalOnProperty(name = "otp.store", havingValue = "jpa")
+@RequiredArgsConstructor
+public class JpaOTPStore implements OTPStore {
+    private final OTPCodeRepository otpCodeRepository;
+
+    @Override
+    @Transactional
+    public void save(String phone, String code, LocalDateTime expiresAt) {
+        // Only this phone's previous code is removed; expired codes are swept in the background
+        otpCodeRepository.deleteByPhone(phone);
+
+        OTPCode otpCode = new OTPCode();
+        otpCode.setPhone(phone);
+        otpCode.setCode(code);
+        otpCode.setExpiresAt(expiresAt);
+        otpCodeRepository.save(otpCode);
+    }
+
+    @Override
+    @Transactional
+    public boolean consume(String phone, String code) {
+        return otpCodeRepository.deleteByPhoneAndCodeAndExpiresAtAfter(phone, code, LocalDateTime.now()) > 0;
+    }
+
+    @Scheduled(fixedDelayString = "${otp.sweep-interval:60000}")
+    public void sweepExpired() {
+        otpCodeRepository.deleteExpiredCodes(LocalDateTime.now());
+    }
+}
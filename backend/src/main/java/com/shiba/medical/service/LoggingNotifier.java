@@ -0,0 +1,29 @@
+package com.shiba.medical.service;
+
+import com.shiba.medical.dto.ReminderMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Default notifier until an email/SMS gateway is integrated
+@Component
+@ConditionalOnProperty(name = "reminder.notifier", havingValue = "log", matchIfMissing = true)
+@Slf4j
+public class LoggingNotifier implements Notifier {
+
+    @Override
+    public void send(List<ReminderMessage> batch) {
+        for (ReminderMessage message : batch) {
+            switch (message.getKind()) {
+                case CANCELLED -> log.info("NOTICE: Appointment for {} with Dr. {} at {} was cancelled by the clinic",
+                    message.getPhone(), message.getDoctorName(), message.getAppointmentDate());
+                case RESCHEDULED -> log.info("NOTICE: Appointment for {} with Dr. {} was moved to {}",
+                    message.getPhone(), message.getDoctorName(), message.getAppointmentDate());
+                default -> log.info("REMINDER: Appointment scheduled for {} with Dr. {} at {}",
+                    message.getPhone(), message.getDoctorName(), message.getAppointmentDate());
+            }
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.shiba.medical.service;
 
-import com.shiba.medical.model.MedicalField;
+import com.shiba.medical.dto.MedicalFieldDTO;
 import com.shiba.medical.repository.MedicalFieldRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -12,12 +12,7 @@ import java.util.List;
 public class MedicalFieldService {
     private final MedicalFieldRepository medicalFieldRepository;
 
-    public List<MedicalField> getAllMedicalFields() {
-        return medicalFieldRepository.findAll();
-    }
-
-    public List<MedicalField> searchMedicalFields(String query) {
-        return medicalFieldRepository.findByNameContainingIgnoreCase(query);
+    public List<MedicalFieldDTO> getAllMedicalFields() {
+        return medicalFieldRepository.findAllSummaries();
     }
 }
-
@@ -0,0 +1,11 @@
+package com.shiba.medical.service;
+
+import com.shiba.medical.dto.ReminderMessage;
+
+import java.util.List;
+
+// Delivery SPI for reminders and clinic notices. Throwing fails the whole batch, which the
+// dispatcher retries, so implementations should deduplicate on appointmentId and kind.
+public interface Notifier {
+    void send(List<ReminderMessage> batch);
+}
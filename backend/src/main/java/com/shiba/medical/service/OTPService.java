@@ -1,11 +1,9 @@
 package com.shiba.medical.service;
 
-import com.shiba.medical.model.OTPCode;
-import com.shiba.medical.repository.OTPCodeRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Random;
@@ -14,43 +12,25 @@ import java.util.Random;
 @RequiredArgsConstructor
 @Slf4j
 public class OTPService {
-    private final OTPCodeRepository otpCodeRepository;
+    private final OTPStore otpStore;
     private static final int OTP_EXPIRY_MINUTES = 5;
     private final Random random = new Random();
 
-    @Transactional
+    @Timed(value = "otp.send", histogram = true)
     public String generateOTP(String phone) {
         // Generate 6-digit OTP
         String otp = String.format("%06d", random.nextInt(1000000));
         
-        // Delete old OTPs for this phone
-        otpCodeRepository.deleteExpiredCodes(LocalDateTime.now());
-        
-        // Save new OTP
-        OTPCode otpCode = new OTPCode();
-        otpCode.setPhone(phone);
-        otpCode.setCode(otp);
-        otpCode.setExpiresAt(LocalDateTime.now().plusMinutes(OTP_EXPIRY_MINUTES));
-        otpCodeRepository.save(otpCode);
+        // Replaces any previous code for this phone
+        otpStore.save(phone, otp, LocalDateTime.now().plusMinutes(OTP_EXPIRY_MINUTES));
         
         log.info("OTP for phone {}: {}", phone, otp);
         
         return otp;
     }
 
-    @Transactional
+    @Timed(value = "otp.verify", histogram = true)
     public boolean verifyOTP(String phone, String code) {
-        OTPCode otpCode = otpCodeRepository
-            .findByPhoneAndCodeAndExpiresAtAfter(phone, code, LocalDateTime.now())
-            .orElse(null);
-        
-        if (otpCode != null) {
-            // Delete used OTP
-            otpCodeRepository.delete(otpCode);
-            return true;
-        }
-        
-        return false;
+        return otpStore.consume(phone, code);
     }
 }
-
@@ -0,0 +1,11 @@
+package com.shiba.medical.service;
+
+import java.time.LocalDateTime;
+
+// Storage for one-time codes. At most one live code is kept per phone.
+public interface OTPStore {
+    void save(String phone, String code, LocalDateTime expiresAt);
+
+    // Returns true and removes the code if it matches and has not expired
+    boolean consume(String phone, String code);
+}
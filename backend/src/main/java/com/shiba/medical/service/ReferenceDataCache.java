@@ -0,0 +1,105 @@
+package com.shiba.medical.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shiba.medical.dto.DoctorDTO;
+import com.shiba.medical.dto.MedicalFieldDTO;
+import com.shiba.medical.model.ReferenceDataChangedEvent;
+import com.shiba.medical.util.CachedJson;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+// Immutable, pre-serialized snapshot of medical fields and doctors. Rebuilt only when
+// reference data changes; requests are answered from the cached bytes and ETags. Changes
+// are coalesced like SearchIndex: at most one rebuild per reference-data.rebuild-interval.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataCache {
+    private final MedicalFieldService medicalFieldService;
+    private final DoctorService doctorService;
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot;
+    private final AtomicBoolean stale = new AtomicBoolean();
+
+    public CachedJson medicalFields() {
+        return current().medicalFields();
+    }
+
+    public CachedJson doctors() {
+        return current().doctors();
+    }
+
+    public CachedJson doctorsByField(Long fieldId) {
+        Snapshot current = current();
+        return current.doctorsByField().getOrDefault(fieldId, current.emptyList());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        stale.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${reference-data.rebuild-interval:500}")
+    public void rebuildIfStale() {
+        if (stale.getAndSet(false)) {
+            rebuild();
+        }
+    }
+
+    public synchronized void rebuild() {
+        List<MedicalFieldDTO> fields = medicalFieldService.getAllMedicalFields();
+        List<DoctorDTO> doctors = doctorService.getAllDoctors();
+
+        Map<Long, List<DoctorDTO>> doctorsByField = doctors.stream()
+            .collect(Collectors.groupingBy(DoctorDTO::getMedicalFieldId, LinkedHashMap::new, Collectors.toList()));
+        Map<Long, CachedJson> serializedByField = new HashMap<>();
+        doctorsByField.forEach((fieldId, list) -> serializedByField.put(fieldId, serialize(list)));
+
+        snapshot = new Snapshot(
+            serialize(fields),
+            serialize(doctors),
+            Map.copyOf(serializedByField),
+            serialize(List.of()));
+        log.info("Reference data snapshot rebuilt: {} medical fields, {} doctors", fields.size(), doctors.size());
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            rebuild();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private CachedJson serialize(Object value) {
+        try {
+            return CachedJson.of(objectMapper.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize reference data", e);
+        }
+    }
+
+    private record Snapshot(CachedJson medicalFields, CachedJson doctors,
+                            Map<Long, CachedJson> doctorsByField, CachedJson emptyList) {
+    }
+}
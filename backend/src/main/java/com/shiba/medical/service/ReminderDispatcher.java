@@ -0,0 +1,226 @@
+package com.shiba.medical.service;
+
+import com.shiba.medical.dto.ReminderDispatchStats;
+import com.shiba.medical.dto.ReminderMessage;
+import com.shiba.medical.model.Appointment.AppointmentStatus;
+import com.shiba.medical.model.ReminderOutbox;
+import com.shiba.medical.model.ReminderOutbox.NotificationKind;
+import com.shiba.medical.model.ReminderOutbox.OutboxStatus;
+import com.shiba.medical.repository.ReminderOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// Drains the reminder outbox in batches on a dedicated worker pool. The scheduler thread
+// only triggers a drain; delivery, retries and bookkeeping never run on it. A batch that
+// exhausts its attempts is marked FAILED and requeued every retry-interval until its rows
+// reach max-total-attempts or the appointment has passed. Each row is checked against the
+// appointment as it stands when claimed; one that no longer applies is marked CANCELLED.
+@Component
+@Slf4j
+public class ReminderDispatcher {
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final ReminderOutboxRepository outboxRepository;
+    private final Notifier notifier;
+    private final int batchSize;
+    private final int workerCount;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final int maxTotalAttempts;
+    private final ExecutorService coordinator;
+    private final ExecutorService workers;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final LongAdder sentTotal = new LongAdder();
+    private final LongAdder failedTotal = new LongAdder();
+    // Counted once per drain run, so metric scrapes never query the outbox
+    private volatile long queueDepth;
+    private volatile long lastRunSent;
+    private volatile double lastRunPerSecond;
+
+    public ReminderDispatcher(ReminderOutboxRepository outboxRepository,
+                              Notifier notifier,
+                              @Value("${reminder.dispatch.batch-size:200}") int batchSize,
+                              @Value("${reminder.dispatch.workers:4}") int workerCount,
+                              @Value("${reminder.dispatch.max-attempts:3}") int maxAttempts,
+                              @Value("${reminder.dispatch.retry-backoff-ms:500}") long retryBackoffMs,
+                              @Value("${reminder.dispatch.max-total-attempts:9}") int maxTotalAttempts,
+                              Environment environment) {
+        this.outboxRepository = outboxRepository;
+        this.notifier = notifier;
+        this.batchSize = batchSize;
+        this.workerCount = workerCount;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.maxTotalAttempts = maxTotalAttempts;
+        // The pool size still caps notifier concurrency when the workers are virtual threads
+        this.coordinator = Executors.newSingleThreadExecutor(WorkerThreads.named("reminder-dispatch", environment));
+        this.workers = Executors.newFixedThreadPool(workerCount, WorkerThreads.named("reminder-worker", environment));
+    }
+
+    @Scheduled(fixedDelayString = "${reminder.dispatch.interval:5000}")
+    public void drainAsync() {
+        if (draining.compareAndSet(false, true)) {
+            coordinator.execute(() -> {
+                try {
+                    drain();
+                    queueDepth = outboxRepository.countByStatus(OutboxStatus.PENDING);
+                } catch (Exception e) {
+                    log.error("Error draining reminder outbox: {}", e.getMessage(), e);
+                } finally {
+                    draining.set(false);
+                }
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reminder.dispatch.retry-interval:300000}",
+               initialDelayString = "${reminder.dispatch.retry-interval:300000}")
+    public void requeueFailed() {
+        int requeued = outboxRepository.requeueFailed(OutboxStatus.FAILED, OutboxStatus.PENDING,
+            maxTotalAttempts, LocalDateTime.now());
+        if (requeued > 0) {
+            log.info("Requeued {} failed reminders", requeued);
+            drainAsync();
+        }
+    }
+
+    public ReminderDispatchStats getStats() {
+        return new ReminderDispatchStats(getQueueDepth(), sentTotal.sum(), failedTotal.sum(),
+            lastRunSent, lastRunPerSecond);
+    }
+
+    public long getSentTotal() {
+        return sentTotal.sum();
+    }
+
+    public long getFailedTotal() {
+        return failedTotal.sum();
+    }
+
+    public long getQueueDepth() {
+        return queueDepth;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void drain() {
+        long start = System.nanoTime();
+        long runSent = 0;
+        long afterId = 0L;
+        int pageSize = batchSize * workerCount;
+        long runCancelled = 0;
+        List<Object[]> rows;
+        do {
+            rows = outboxRepository.findWithAppointmentByStatusAfterId(
+                OutboxStatus.PENDING, afterId, PageRequest.of(0, pageSize));
+            if (rows.isEmpty()) {
+                break;
+            }
+            afterId = ((ReminderOutbox) rows.get(rows.size() - 1)[0]).getId();
+
+            List<ReminderOutbox> page = new ArrayList<>(rows.size());
+            List<Long> stale = new ArrayList<>();
+            for (Object[] row : rows) {
+                ReminderOutbox outbox = (ReminderOutbox) row[0];
+                if (stillApplies(outbox, (AppointmentStatus) row[1], (LocalDateTime) row[2])) {
+                    page.add(outbox);
+                } else {
+                    stale.add(outbox.getId());
+                }
+            }
+            if (!stale.isEmpty()) {
+                runCancelled += outboxRepository.markStatus(stale, OutboxStatus.CANCELLED);
+            }
+
+            List<CompletableFuture<Integer>> futures = new ArrayList<>();
+            for (int from = 0; from < page.size(); from += batchSize) {
+                List<ReminderOutbox> batch = page.subList(from, Math.min(from + batchSize, page.size()));
+                futures.add(CompletableFuture.supplyAsync(() -> dispatch(batch), workers));
+            }
+            for (CompletableFuture<Integer> future : futures) {
+                runSent += future.join();
+            }
+        } while (rows.size() == pageSize);
+
+        if (runCancelled > 0) {
+            log.info("Dropped {} reminders whose appointment changed before delivery", runCancelled);
+        }
+        if (runSent > 0) {
+            double seconds = Math.max((System.nanoTime() - start) / 1e9, 1e-9);
+            lastRunSent = runSent;
+            lastRunPerSecond = runSent / seconds;
+            log.info("Dispatched {} reminders ({} /s)", runSent, String.format("%.1f", lastRunPerSecond));
+        }
+    }
+
+    // A reminder or reschedule notice only while the appointment is still live at that time, a
+    // cancellation notice only while it is still cancelled
+    private static boolean stillApplies(ReminderOutbox outbox, AppointmentStatus status, LocalDateTime appointmentDate) {
+        if (status == null || !outbox.getAppointmentDate().equals(appointmentDate)) {
+            return false;
+        }
+        return outbox.getKind() == NotificationKind.CANCELLED
+            ? status == AppointmentStatus.CANCELLED
+            : AvailabilityEngine.ACTIVE_STATUSES.contains(status);
+    }
+
+    private int dispatch(List<ReminderOutbox> batch) {
+        List<Long> ids = batch.stream().map(ReminderOutbox::getId).toList();
+        List<ReminderMessage> messages = batch.stream()
+            .map(o -> new ReminderMessage(o.getAppointmentId(), o.getPhone(), o.getDoctorName(),
+                o.getAppointmentDate(), o.getKind()))
+            .toList();
+
+        RuntimeException lastError = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                notifier.send(messages);
+            } catch (RuntimeException e) {
+                lastError = e;
+                log.warn("Reminder batch of {} failed (attempt {}/{}): {}", ids.size(), attempt, maxAttempts, e.getMessage());
+                if (attempt < maxAttempts && !backoff(attempt)) {
+                    break;
+                }
+                continue;
+            }
+            outboxRepository.markSent(ids, OutboxStatus.SENT, LocalDateTime.now(), attempt);
+            sentTotal.add(ids.size());
+            return ids.size();
+        }
+
+        String error = lastError == null ? "Interrupted" : String.valueOf(lastError.getMessage());
+        outboxRepository.markFailed(ids, OutboxStatus.FAILED,
+            error.substring(0, Math.min(error.length(), MAX_ERROR_LENGTH)), maxAttempts);
+        failedTotal.add(ids.size());
+        return 0;
+    }
+
+    private boolean backoff(int attempt) {
+        try {
+            Thread.sleep(retryBackoffMs * attempt);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.shiba.medical.service;
+
+import com.shiba.medical.model.Appointment;
+import com.shiba.medical.model.ReminderOutbox.NotificationKind;
+import com.shiba.medical.repository.AppointmentRepository;
+import com.shiba.medical.repository.ReminderOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+public class ReminderOutboxWriter {
+    private static final String INSERT_SQL =
+        "INSERT INTO reminder_outbox (appointment_id, phone, doctor_name, appointment_date, kind, status, attempts, created_at) " +
+        "VALUES (?, ?, ?, ?, 'REMINDER', 'PENDING', 0, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReminderOutboxRepository outboxRepository;
+    private final AppointmentRepository appointmentRepository;
+
+    // Writes the outbox rows and marks the appointments reminded in one transaction,
+    // so a crash can neither lose a reminder nor enqueue it twice
+    @Transactional
+    public int enqueue(List<Appointment> appointments, LocalDateTime now) {
+        List<Long> ids = appointments.stream().map(Appointment::getId).toList();
+        Set<String> existing = new HashSet<>();
+        for (Object[] row : outboxRepository.findKeysByAppointmentIdInAndKind(ids, NotificationKind.REMINDER)) {
+            existing.add(row[0] + "|" + row[1]);
+        }
+        List<Appointment> fresh = appointments.stream()
+            .filter(a -> !existing.contains(a.getId() + "|" + a.getAppointmentDate()))
+            .toList();
+
+        if (!fresh.isEmpty()) {
+            Timestamp createdAt = Timestamp.valueOf(now);
+            jdbcTemplate.batchUpdate(INSERT_SQL, fresh, fresh.size(), (ps, appointment) -> {
+                ps.setLong(1, appointment.getId());
+                ps.setString(2, appointment.getUser().getPhone());
+                ps.setString(3, appointment.getDoctor().getName());
+                ps.setTimestamp(4, Timestamp.valueOf(appointment.getAppointmentDate()));
+                ps.setTimestamp(5, createdAt);
+            });
+        }
+        appointmentRepository.markReminded(ids, now);
+        return fresh.size();
+    }
+}
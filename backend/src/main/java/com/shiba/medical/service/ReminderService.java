@@ -2,11 +2,14 @@ package com.shiba.medical.service;
 
 import com.shiba.medical.model.Appointment;
 import com.shiba.medical.repository.AppointmentRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -16,44 +19,49 @@ import java.util.List;
 @Slf4j
 public class ReminderService {
     private final AppointmentRepository appointmentRepository;
+    private final ReminderOutboxWriter outboxWriter;
+    private final ReminderDispatcher reminderDispatcher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${reminder.batch-size:500}")
+    private int batchSize;
 
     // Run every hour to check for appointments in the next 24 hours
     // Initial delay of 10 minutes to allow application to fully start and data to be loaded
     @Scheduled(fixedRate = 3600000, initialDelay = 600000) // 1 hour interval, 10 min initial delay
-    @Transactional(readOnly = true)
+    @Timed("reminders.job")
     public void sendAppointmentReminders() {
         try {
             LocalDateTime now = LocalDateTime.now();
             LocalDateTime tomorrow = now.plusHours(24);
-            
-            // Get all scheduled appointments in the next 24 hours
-            List<Appointment> allAppointments = appointmentRepository.findAll();
-            List<Appointment> upcomingAppointments = allAppointments.stream()
-                .filter(a -> a.getStatus() == Appointment.AppointmentStatus.SCHEDULED)
-                .filter(a -> a.getAppointmentDate() != null)
-                .filter(a -> a.getAppointmentDate().isAfter(now) && a.getAppointmentDate().isBefore(tomorrow))
-                .toList();
-            
-            // Logging reminders (email/SMS integration pending)
-            if (upcomingAppointments.isEmpty()) {
-                log.debug("No appointments to remind in the next 24 hours");
-                return;
-            }
-            
-            log.info("Found {} appointments to remind", upcomingAppointments.size());
-            for (Appointment appointment : upcomingAppointments) {
-                try {
-                    String phone = appointment.getUser() != null ? appointment.getUser().getPhone() : "Unknown";
-                    String doctorName = appointment.getDoctor() != null ? appointment.getDoctor().getName() : "Unknown";
-                    log.info("REMINDER: Appointment scheduled for {} with Dr. {} at {}",
-                        phone, doctorName, appointment.getAppointmentDate());
-                } catch (Exception e) {
-                    log.warn("Error processing reminder for appointment {}: {}", appointment.getId(), e.getMessage());
+
+            // Walk live, not-yet-reminded appointments in the window in fixed-size chunks keyed on (date, id)
+            int total = 0;
+            LocalDateTime afterDate = now;
+            long afterId = 0L;
+            List<Appointment> batch;
+            do {
+                batch = appointmentRepository.findReminderCandidates(
+                    AvailabilityEngine.ACTIVE_STATUSES, now, tomorrow, afterDate, afterId, PageRequest.of(0, batchSize));
+                if (batch.isEmpty()) {
+                    break;
                 }
+                // The outbox write also remembers what was reminded
+                total += outboxWriter.enqueue(batch, now);
+                Appointment last = batch.get(batch.size() - 1);
+                afterDate = last.getAppointmentDate();
+                afterId = last.getId();
+            } while (batch.size() == batchSize);
+
+            if (total == 0) {
+                log.debug("No appointments to remind in the next 24 hours");
+            } else {
+                log.info("Queued {} appointment reminders", total);
+                meterRegistry.counter("reminders.queued").increment(total);
+                reminderDispatcher.drainAsync();
             }
         } catch (Exception e) {
             log.error("Error in reminder service: {}", e.getMessage(), e);
         }
     }
 }
-
@@ -0,0 +1,212 @@
+package com.shiba.medical.service;
+
+import com.shiba.medical.dto.DoctorScheduleRequest;
+import com.shiba.medical.dto.DoctorScheduleRequest.WeeklyHours;
+import com.shiba.medical.dto.ScheduleExceptionRequest;
+import com.shiba.medical.dto.ScheduleImportResult;
+import com.shiba.medical.model.Doctor;
+import com.shiba.medical.model.ScheduleException.ExceptionType;
+import com.shiba.medical.model.TimeSlot;
+import com.shiba.medical.repository.DoctorRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Bulk onboarding of weekly schedules and exceptions. Rows are written with batched JDBC
+// so thousands of doctors import in one round trip per batch; the availability engine
+// then reloads the affected doctors lazily after commit. A change that would leave a live
+// appointment off its doctor's hours is rejected whole, before anything commits.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScheduleService {
+    private static final int MIN_SLOT_MINUTES = 5;
+    private static final int MAX_SLOT_MINUTES = 480;
+    private static final int BATCH_SIZE = 1_000;
+    private static final int MAX_REPORTED_CONFLICTS = 5;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DoctorRepository doctorRepository;
+    private final AvailabilityEngine availabilityEngine;
+    private final BookingLocks bookingLocks;
+    private final EntityManagerFactory entityManagerFactory;
+
+    // Replaces the weekly hours of every doctor in the request; doctors not mentioned are untouched
+    @Transactional
+    public ScheduleImportResult replaceWeeklySchedules(List<DoctorScheduleRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new RuntimeException("No schedules given");
+        }
+        Map<Long, List<WeeklyHours>> byDoctor = new LinkedHashMap<>();
+        for (DoctorScheduleRequest request : requests) {
+            if (request.getDoctorId() == null || request.getHours() == null || request.getHours().isEmpty()) {
+                throw new RuntimeException("Each schedule needs a doctorId and at least one entry in hours");
+            }
+            for (WeeklyHours hours : request.getHours()) {
+                if (hours.getDayOfWeek() == null) {
+                    throw new RuntimeException("dayOfWeek is required for doctor " + request.getDoctorId());
+                }
+                validateHours(hours.getStartTime(), hours.getEndTime(), hours.getSlotMinutes());
+            }
+            byDoctor.computeIfAbsent(request.getDoctorId(), id -> new ArrayList<>()).addAll(request.getHours());
+        }
+        requireDoctors(byDoctor.keySet());
+
+        List<Object[]> doctorRows = byDoctor.keySet().stream().map(id -> new Object[]{id}).toList();
+        batch("DELETE FROM schedule_templates WHERE doctor_id = ?", doctorRows);
+        batch("DELETE FROM time_slots WHERE doctor_id = ?", doctorRows);
+
+        List<Object[]> templateRows = new ArrayList<>();
+        List<Object[]> slotRows = new ArrayList<>();
+        byDoctor.forEach((doctorId, weekly) -> {
+            // time_slots has no weekday, so it gets the union of the week's start times
+            TreeMap<LocalTime, LocalTime> daily = new TreeMap<>();
+            for (WeeklyHours hours : weekly) {
+                templateRows.add(new Object[]{doctorId, hours.getDayOfWeek().name(),
+                    hours.getStartTime(), hours.getEndTime(), hours.getSlotMinutes()});
+                for (LocalTime start : WeeklySchedule.expand(hours.getStartTime(), hours.getEndTime(), hours.getSlotMinutes())) {
+                    daily.putIfAbsent(start, start.plusMinutes(hours.getSlotMinutes()));
+                }
+            }
+            daily.forEach((start, end) -> slotRows.add(new Object[]{doctorId, start, end, true}));
+        });
+        batch("INSERT INTO schedule_templates (doctor_id, day_of_week, start_time, end_time, slot_minutes) " +
+              "VALUES (?, ?, ?, ?, ?)", templateRows);
+        batch("INSERT INTO time_slots (doctor_id, start_time, end_time, is_available) VALUES (?, ?, ?, ?)", slotRows);
+        requireOnSchedule(byDoctor.keySet());
+
+        refreshAfterCommit(byDoctor.keySet(), true);
+        log.info("Imported weekly schedules for {} doctors ({} templates, {} slots)",
+            byDoctor.size(), templateRows.size(), slotRows.size());
+        return new ScheduleImportResult(byDoctor.size(), templateRows.size(), slotRows.size());
+    }
+
+    @Transactional
+    public int addExceptions(List<ScheduleExceptionRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new RuntimeException("No exceptions given");
+        }
+        Set<Long> doctorIds = new HashSet<>();
+        Set<Long> closing = new HashSet<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (ScheduleExceptionRequest request : requests) {
+            if (request.getDoctorId() == null || request.getDate() == null || request.getType() == null) {
+                throw new RuntimeException("Each exception needs a doctorId, date and type");
+            }
+            if (request.getType() == ExceptionType.EXTRA) {
+                validateHours(request.getStartTime(), request.getEndTime(), request.getSlotMinutes());
+            } else if (request.getStartTime() != null || request.getEndTime() != null) {
+                validateHours(request.getStartTime(), request.getEndTime(), MIN_SLOT_MINUTES);
+            }
+            doctorIds.add(request.getDoctorId());
+            if (request.getType() == ExceptionType.CLOSED) {
+                closing.add(request.getDoctorId());
+            }
+            rows.add(new Object[]{request.getDoctorId(), request.getDate(), request.getType().name(),
+                request.getStartTime(), request.getEndTime(), request.getSlotMinutes(), request.getReason()});
+        }
+        requireDoctors(doctorIds);
+
+        batch("INSERT INTO schedule_exceptions (doctor_id, exception_date, type, start_time, end_time, slot_minutes, reason) " +
+              "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        requireOnSchedule(closing);
+        refreshAfterCommit(doctorIds, false);
+        return rows.size();
+    }
+
+    // Drops every exception of the doctor on that date; removing an EXTRA clinic is refused while it has bookings
+    @Transactional
+    public int deleteExceptions(Long doctorId, LocalDate date) {
+        if (doctorId == null || date == null) {
+            throw new RuntimeException("doctorId and date are required");
+        }
+        requireDoctors(List.of(doctorId));
+        int deleted = jdbcTemplate.update("DELETE FROM schedule_exceptions WHERE doctor_id = ? AND exception_date = ?",
+            doctorId, date);
+        if (deleted > 0) {
+            requireOnSchedule(List.of(doctorId));
+            refreshAfterCommit(List.of(doctorId), false);
+        }
+        return deleted;
+    }
+
+    private static void validateHours(LocalTime start, LocalTime end, Integer slotMinutes) {
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new RuntimeException("startTime must be before endTime");
+        }
+        if (slotMinutes == null || slotMinutes < MIN_SLOT_MINUTES || slotMinutes > MAX_SLOT_MINUTES) {
+            throw new RuntimeException("slotMinutes must be between " + MIN_SLOT_MINUTES + " and " + MAX_SLOT_MINUTES);
+        }
+    }
+
+    private void requireDoctors(Collection<Long> doctorIds) {
+        Set<Long> found = new HashSet<>(doctorRepository.findIdsByIdIn(doctorIds));
+        for (Long doctorId : doctorIds) {
+            if (!found.contains(doctorId)) {
+                throw new RuntimeException("Doctor not found: " + doctorId);
+            }
+        }
+    }
+
+    // Throwing rolls the whole import back; the caller cancels or shifts those bookings first.
+    // The doctors' booking stripes are held until commit: a booking already past its schedule
+    // check commits before we look, and later ones wait and then see the new hours.
+    private void requireOnSchedule(Collection<Long> doctorIds) {
+        if (doctorIds.isEmpty()) {
+            return;
+        }
+        bookingLocks.lockAllForTransaction(doctorIds);
+        Map<Long, List<LocalDateTime>> stranded = availabilityEngine.findOffSchedule(doctorIds);
+        if (stranded.isEmpty()) {
+            return;
+        }
+        int count = stranded.values().stream().mapToInt(List::size).sum();
+        List<String> first = stranded.entrySet().stream()
+            .flatMap(e -> e.getValue().stream().map(at -> "doctor " + e.getKey() + " at " + at))
+            .limit(MAX_REPORTED_CONFLICTS)
+            .toList();
+        throw new RuntimeException(count + " live appointment(s) would fall outside the doctor's hours: " + first);
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+
+    // JDBC writes bypass Hibernate, so cached slots and calendars are dropped once they are visible
+    private void refreshAfterCommit(Collection<Long> doctorIds, boolean slotsRewritten) {
+        List<Long> ids = List.copyOf(doctorIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ids.forEach(availabilityEngine::evictDoctor);
+                if (slotsRewritten) {
+                    Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+                    cache.evictEntityData(TimeSlot.class);
+                    cache.evictCollectionData(Doctor.class.getName() + ".timeSlots");
+                    cache.evictDefaultQueryRegion();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,72 @@
+package com.shiba.medical.service;
+
+import com.shiba.medical.dto.DoctorDTO;
+import com.shiba.medical.dto.MedicalFieldDTO;
+import com.shiba.medical.model.ReferenceDataChangedEvent;
+import com.shiba.medical.util.NgramIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// In-memory typeahead index over doctor names and medical field names/descriptions. Every
+// entity write publishes an event, so committed changes only mark the index stale and one
+// rebuild per reference-data.rebuild-interval picks up all of them.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndex {
+    private final DoctorService doctorService;
+    private final MedicalFieldService medicalFieldService;
+
+    private volatile NgramIndex<DoctorDTO> doctors = NgramIndex.<DoctorDTO>builder().build();
+    private volatile NgramIndex<MedicalFieldDTO> medicalFields = NgramIndex.<MedicalFieldDTO>builder().build();
+    private final AtomicBoolean stale = new AtomicBoolean();
+
+    public List<DoctorDTO> searchDoctors(String query, int limit) {
+        return doctors.search(query, limit);
+    }
+
+    public List<MedicalFieldDTO> searchMedicalFields(String query, int limit) {
+        return medicalFields.search(query, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        stale.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${reference-data.rebuild-interval:500}")
+    public void rebuildIfStale() {
+        if (stale.getAndSet(false)) {
+            rebuild();
+        }
+    }
+
+    public synchronized void rebuild() {
+        NgramIndex.Builder<MedicalFieldDTO> fieldIndex = NgramIndex.builder();
+        for (MedicalFieldDTO field : medicalFieldService.getAllMedicalFields()) {
+            fieldIndex.add(field, field.getName(), field.getDescription());
+        }
+
+        NgramIndex.Builder<DoctorDTO> doctorIndex = NgramIndex.builder();
+        for (DoctorDTO doctor : doctorService.getAllDoctors()) {
+            doctorIndex.add(doctor, doctor.getName(), null);
+        }
+
+        medicalFields = fieldIndex.build();
+        doctors = doctorIndex.build();
+        log.info("Search index built: {} doctors, {} medical fields", doctors.size(), medicalFields.size());
+    }
+}
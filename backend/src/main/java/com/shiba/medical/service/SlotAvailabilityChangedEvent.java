@@ -0,0 +1,7 @@
+package com.shiba.medical.service;
+
+import java.time.LocalDate;
+
+// Published by AvailabilityEngine after a committed change; a null date means any day of the doctor
+public record SlotAvailabilityChangedEvent(Long doctorId, LocalDate date) {
+}
@@ -0,0 +1,299 @@
+package com.shiba.medical.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shiba.medical.dto.DoctorAvailabilityDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Pushes a doctor-day's free slots to open calendar views over Server-Sent Events. Engine
+// changes only mark the doctor-day dirty; every flush-interval each dirty day is rendered once
+// and the same event goes to all of its subscribers, so a burst of bookings costs one push.
+// A subscriber holds at most one unsent event per doctor-day (a newer one replaces it), and one
+// whose connection stays stuck in a send longer than stall-timeout is dropped on the next flush.
+// Sends block on the servlet stream, so they run on an elastic pool: a stuck client pins one
+// thread until the container's write timeout fails its write, and the others keep flowing.
+@Component
+@Slf4j
+public class SlotEventBroadcaster {
+    private static final int MAX_DAYS = 7;
+    private static final SlotKey KEEP_ALIVE = new SlotKey(null, null);
+
+    private final AvailabilityEngine availabilityEngine;
+    private final ObjectMapper objectMapper;
+    private final long emitterTimeoutMs;
+    private final long stallTimeoutMs;
+    private final int maxSubscribers;
+    private final int maxPerClient;
+    private final ThreadPoolExecutor senders;
+
+    private final Map<SlotKey, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Set<Subscriber> open = ConcurrentHashMap.newKeySet();
+    // Slots are taken atomically on subscribe and given back on close
+    private final AtomicInteger admitted = new AtomicInteger();
+    private final Map<String, Integer> perClient = new ConcurrentHashMap<>();
+    private final Set<SlotKey> dirty = ConcurrentHashMap.newKeySet();
+    private final LongAdder pushedTotal = new LongAdder();
+    private final LongAdder droppedTotal = new LongAdder();
+
+    public SlotEventBroadcaster(AvailabilityEngine availabilityEngine,
+                                ObjectMapper objectMapper,
+                                @Value("${slots.events.timeout:1800000}") long emitterTimeoutMs,
+                                @Value("${slots.events.stall-timeout:10000}") long stallTimeoutMs,
+                                @Value("${slots.events.max-subscribers:10000}") int maxSubscribers,
+                                @Value("${slots.events.max-subscribers-per-client:20}") int maxPerClient,
+                                @Value("${slots.events.max-senders:256}") int maxSenders,
+                                Environment environment) {
+        this.availabilityEngine = availabilityEngine;
+        this.objectMapper = objectMapper;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.stallTimeoutMs = stallTimeoutMs;
+        this.maxSubscribers = maxSubscribers;
+        this.maxPerClient = maxPerClient;
+        // Threads start on demand up to maxSenders and retire after a minute idle
+        this.senders = new ThreadPoolExecutor(maxSenders, maxSenders, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), WorkerThreads.named("slot-events", environment));
+        this.senders.allowCoreThreadTimeOut(true);
+    }
+
+    public SseEmitter subscribe(Long doctorId, LocalDate from, int days, String client) {
+        if (days < 1 || days > MAX_DAYS) {
+            throw new RuntimeException("days must be between 1 and " + MAX_DAYS);
+        }
+        availabilityEngine.requireDoctor(doctorId);
+        admit(client);
+
+        List<SlotKey> keys = new ArrayList<>(days);
+        for (int i = 0; i < days; i++) {
+            keys.add(new SlotKey(doctorId, from.plusDays(i)));
+        }
+        Subscriber subscriber = new Subscriber(new SseEmitter(emitterTimeoutMs), keys, client);
+        subscriber.emitter.onCompletion(subscriber::close);
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(error -> subscriber.close());
+
+        open.add(subscriber);
+        for (SlotKey key : keys) {
+            subscribers.compute(key, (k, set) -> {
+                Set<Subscriber> result = set != null ? set : ConcurrentHashMap.newKeySet();
+                result.add(subscriber);
+                return result;
+            });
+        }
+        // Current state first, so the view needs no separate fetch; SseEmitter buffers it until the response starts
+        for (SlotKey key : keys) {
+            subscriber.offer(key, render(key));
+        }
+        return subscriber.emitter;
+    }
+
+    @EventListener
+    public void onSlotsChanged(SlotAvailabilityChangedEvent event) {
+        if (event.date() != null) {
+            SlotKey key = new SlotKey(event.doctorId(), event.date());
+            if (subscribers.containsKey(key)) {
+                dirty.add(key);
+            }
+            return;
+        }
+        for (SlotKey key : subscribers.keySet()) {
+            if (key.doctorId().equals(event.doctorId())) {
+                dirty.add(key);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${slots.events.flush-interval:200}")
+    public void flush() {
+        dropStalled();
+        for (Iterator<SlotKey> it = dirty.iterator(); it.hasNext(); ) {
+            SlotKey key = it.next();
+            it.remove();
+            Set<Subscriber> listeners = subscribers.get(key);
+            if (listeners == null || listeners.isEmpty()) {
+                continue;
+            }
+            Set<DataWithMediaType> event = render(key);
+            for (Subscriber subscriber : listeners) {
+                subscriber.offer(key, event);
+            }
+        }
+    }
+
+    // Keeps idle connections open through proxies; a ping that cannot be written shows up as a stall
+    @Scheduled(fixedDelayString = "${slots.events.heartbeat-interval:25000}")
+    public void heartbeat() {
+        Set<DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        for (Subscriber subscriber : open) {
+            subscriber.offer(KEEP_ALIVE, ping);
+        }
+    }
+
+    // Closing here only stops new work; the emitter is completed by its sender once the stuck
+    // write returns, since complete() would wait on the same lock as the blocked send
+    private void dropStalled() {
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : open) {
+            long since = subscriber.sendingSince;
+            if (since != 0 && now - since > stallTimeoutMs) {
+                droppedTotal.increment();
+                log.debug("Dropping slot event subscriber stuck for {} ms", now - since);
+                subscriber.close();
+            }
+        }
+    }
+
+    private void admit(String client) {
+        if (admitted.incrementAndGet() > maxSubscribers) {
+            admitted.decrementAndGet();
+            throw new RuntimeException("Too many live availability subscriptions, please poll instead");
+        }
+        boolean[] allowed = {false};
+        perClient.compute(client, (key, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= maxPerClient) {
+                return count;
+            }
+            allowed[0] = true;
+            return current + 1;
+        });
+        if (!allowed[0]) {
+            admitted.decrementAndGet();
+            throw new RuntimeException("Too many live availability subscriptions from this client");
+        }
+    }
+
+    private void release(String client) {
+        admitted.decrementAndGet();
+        perClient.computeIfPresent(client, (key, count) -> count <= 1 ? null : count - 1);
+    }
+
+    public int getSubscriberCount() {
+        return open.size();
+    }
+
+    public long getPushedTotal() {
+        return pushedTotal.sum();
+    }
+
+    public long getDroppedTotal() {
+        return droppedTotal.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        open.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    private Set<DataWithMediaType> render(SlotKey key) {
+        DoctorAvailabilityDTO slots = new DoctorAvailabilityDTO(key.doctorId(),
+            Map.of(key.date(), availabilityEngine.getAvailableSlots(key.doctorId(), key.date())));
+        try {
+            return SseEmitter.event().name("slots").data(objectMapper.writeValueAsString(slots)).build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise availability", e);
+        }
+    }
+
+    private record SlotKey(Long doctorId, LocalDate date) {
+    }
+
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final List<SlotKey> keys;
+        final String client;
+        final Map<SlotKey, Set<DataWithMediaType>> pending = new ConcurrentHashMap<>();
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+        volatile long sendingSince;
+
+        Subscriber(SseEmitter emitter, List<SlotKey> keys, String client) {
+            this.emitter = emitter;
+            this.keys = keys;
+            this.client = client;
+        }
+
+        void offer(SlotKey key, Set<DataWithMediaType> event) {
+            if (closed.get()) {
+                return;
+            }
+            pending.put(key, event);
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        // One sender at a time per subscriber, so a slow client never holds more than one pool thread
+        void drain() {
+            do {
+                for (SlotKey key : pending.keySet()) {
+                    Set<DataWithMediaType> event = pending.remove(key);
+                    if (event == null || closed.get()) {
+                        continue;
+                    }
+                    sendingSince = System.currentTimeMillis();
+                    try {
+                        emitter.send(event);
+                        pushedTotal.increment();
+                    } catch (IOException | IllegalStateException e) {
+                        close();
+                    } finally {
+                        sendingSince = 0;
+                    }
+                    if (closed.get()) {
+                        // Dropped as stalled while this send was blocked
+                        complete();
+                        return;
+                    }
+                }
+                draining.set(false);
+            } while (!pending.isEmpty() && !closed.get() && draining.compareAndSet(false, true));
+        }
+
+        void complete() {
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                // Already completed by the container
+            }
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            pending.clear();
+            open.remove(this);
+            release(client);
+            for (SlotKey key : keys) {
+                subscribers.computeIfPresent(key, (k, set) -> {
+                    set.remove(this);
+                    return set.isEmpty() ? null : set;
+                });
+            }
+        }
+    }
+}
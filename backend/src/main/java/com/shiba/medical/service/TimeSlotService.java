@@ -1,48 +1,88 @@
 package com.shiba.medical.service;
 
-import com.shiba.medical.model.Appointment;
-import com.shiba.medical.model.TimeSlot;
-import com.shiba.medical.repository.AppointmentRepository;
-import com.shiba.medical.repository.TimeSlotRepository;
+import com.shiba.medical.dto.AvailableSlotDTO;
+import com.shiba.medical.dto.DoctorAvailabilityDTO;
+import com.shiba.medical.dto.DoctorDTO;
+import com.shiba.medical.repository.DoctorRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TimeSlotService {
-    private final TimeSlotRepository timeSlotRepository;
-    private final AppointmentRepository appointmentRepository;
+    private static final int MAX_RANGE_DAYS = 31;
+    private static final int MAX_RANGE_DOCTORS = 200;
+    private static final int MAX_FIRST_AVAILABLE = 50;
+    private static final int FIRST_AVAILABLE_HORIZON_DAYS = 90;
 
+    private final AvailabilityEngine availabilityEngine;
+    private final DoctorRepository doctorRepository;
+
+    @Timed(value = "availability.day", histogram = true)
     public List<LocalTime> getAvailableTimeSlots(Long doctorId, LocalDate date) {
-        // Get all time slots for the doctor
-        List<TimeSlot> allSlots = timeSlotRepository.findByDoctorId(doctorId);
-        
-        // Get booked appointments for the doctor on this date
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.atTime(23, 59, 59);
-        List<Appointment> bookedAppointments = appointmentRepository.findByDoctorIdAndAppointmentDateBetween(
-            doctorId, startOfDay, endOfDay);
-        
-        // Filter out booked slots
-        List<LocalTime> bookedTimes = bookedAppointments.stream()
-            .filter(a -> a.getStatus() == Appointment.AppointmentStatus.SCHEDULED 
-                      || a.getStatus() == Appointment.AppointmentStatus.RESCHEDULED)
-            .map(a -> a.getAppointmentDate().toLocalTime())
-            .collect(Collectors.toList());
-        
-        // Return available slots
-        return allSlots.stream()
-            .filter(TimeSlot::getIsAvailable)
-            .map(TimeSlot::getStartTime)
-            .filter(time -> !bookedTimes.contains(time))
-            .sorted()
-            .collect(Collectors.toList());
+        // Served from the in-memory bitmap, kept current by AppointmentService
+        availabilityEngine.requireDoctor(doctorId);
+        return availabilityEngine.getAvailableSlots(doctorId, date);
     }
-}
 
+    @Timed(value = "availability.range", histogram = true)
+    public List<DoctorAvailabilityDTO> getAvailabilityRange(Collection<Long> doctorIds, Long fieldId,
+                                                            LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new RuntimeException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        Collection<Long> ids;
+        if (doctorIds != null && !doctorIds.isEmpty()) {
+            ids = doctorIds;
+        } else if (fieldId != null) {
+            ids = doctorRepository.findIdsByMedicalFieldId(fieldId);
+        } else {
+            throw new RuntimeException("Either doctorIds or fieldId is required");
+        }
+        if (ids.size() > MAX_RANGE_DOCTORS) {
+            throw new RuntimeException("Cannot query more than " + MAX_RANGE_DOCTORS + " doctors at once");
+        }
+
+        Map<Long, Map<LocalDate, List<LocalTime>>> matrix = availabilityEngine.getAvailability(ids, from, to);
+        List<DoctorAvailabilityDTO> result = new ArrayList<>(matrix.size());
+        matrix.forEach((doctorId, days) -> result.add(new DoctorAvailabilityDTO(doctorId, days)));
+        return result;
+    }
+
+    // "Who is the earliest doctor in this field I can see?" answered in one pass over the
+    // in-memory calendars, looking at most FIRST_AVAILABLE_HORIZON_DAYS ahead
+    @Timed(value = "availability.first", histogram = true)
+    public List<AvailableSlotDTO> findFirstAvailable(Long fieldId, LocalDate fromDate, int limit, boolean onePerDoctor) {
+        int size = Math.max(1, Math.min(limit, MAX_FIRST_AVAILABLE));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = (fromDate == null || !fromDate.atStartOfDay().isAfter(now)) ? now : fromDate.atStartOfDay();
+
+        Map<Long, DoctorDTO> doctors = doctorRepository.findSummariesByMedicalFieldId(fieldId).stream()
+            .collect(Collectors.toMap(DoctorDTO::getId, Function.identity()));
+        List<AvailabilityEngine.FreeSlot> slots = availabilityEngine.findEarliest(
+            doctors.keySet(), from, from.toLocalDate().plusDays(FIRST_AVAILABLE_HORIZON_DAYS), size, onePerDoctor);
+
+        List<AvailableSlotDTO> result = new ArrayList<>(slots.size());
+        for (AvailabilityEngine.FreeSlot slot : slots) {
+            DoctorDTO doctor = doctors.get(slot.doctorId());
+            result.add(new AvailableSlotDTO(doctor.getId(), doctor.getName(), doctor.getExperienceYears(), slot.at()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,345 @@
+package com.shiba.medical.service;
+
+import com.shiba.medical.dto.UtilizationDTO;
+import com.shiba.medical.model.Appointment.AppointmentStatus;
+import com.shiba.medical.model.ReferenceDataChangedEvent;
+import com.shiba.medical.repository.DoctorRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+// Live occupancy per doctor and per field, per day. Every committed create, cancel and
+// reschedule moves one appointment's contribution between day counters held in LongAdders,
+// so writers never contend and a day's numbers are a map lookup. Counts mirror what the
+// appointments table says for each status (so "moved in" is the live RESCHEDULED bookings on
+// a day, not a count of reschedule events), which lets rebuild() recompute them from scratch
+// and report drift. Dirty doctor-days are written to utilization_snapshots periodically.
+@Component
+@Slf4j
+public class UtilizationStats {
+    private static final int MAX_RANGE_DAYS = 31;
+    private static final int BATCH_SIZE = 1_000;
+
+    private static final String REBUILD_SQL =
+        "SELECT a.doctor_id, d.medical_field_id, CAST(a.appointment_date AS DATE) AS stat_date, a.status, COUNT(*) AS total " +
+        "FROM appointments a JOIN doctors d ON d.id = a.doctor_id WHERE a.appointment_date >= ? " +
+        "GROUP BY a.doctor_id, d.medical_field_id, CAST(a.appointment_date AS DATE), a.status";
+
+    private static final String LOAD_SQL =
+        "SELECT doctor_id, medical_field_id, stat_date, booked, cancelled, moved_in " +
+        "FROM utilization_snapshots WHERE stat_date >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AvailabilityEngine availabilityEngine;
+    private final DoctorRepository doctorRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean rebuildOnStartup;
+    private final int retentionDays;
+
+    private volatile Counters counters = new Counters();
+    private final Set<DayKey> dirty = ConcurrentHashMap.newKeySet();
+    private final Map<DayKey, Integer> fieldCapacity = new ConcurrentHashMap<>();
+
+    public UtilizationStats(JdbcTemplate jdbcTemplate,
+                            AvailabilityEngine availabilityEngine,
+                            DoctorRepository doctorRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${stats.rebuild-on-startup:true}") boolean rebuildOnStartup,
+                            @Value("${stats.retention-days:400}") int retentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.availabilityEngine = availabilityEngine;
+        this.doctorRepository = doctorRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.retentionDays = retentionDays;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        } else {
+            loadSnapshots();
+        }
+    }
+
+    // Moves one appointment's contribution from (fromDate, fromStatus) to (toDate, toStatus)
+    // once the transaction commits; a null fromDate means a new appointment
+    public void record(Long doctorId, Long fieldId, LocalDateTime fromDate, AppointmentStatus fromStatus,
+                       LocalDateTime toDate, AppointmentStatus toStatus) {
+        Delta delta = new Delta(doctorId, fieldId, fromDate, fromStatus, toDate, toStatus);
+        TransactionCallbacks.afterCommit(() -> {
+            Counters current = counters;
+            delta.applyTo(current);
+            Queue<Delta> journal = current.journal;
+            if (journal != null) {
+                journal.add(delta);
+                // rebuild() already swapped and drained; whoever removes the entry applies it
+                if (current.sealed && journal.remove(delta)) {
+                    delta.applyTo(counters);
+                }
+            }
+            if (fromDate != null) {
+                dirty.add(new DayKey(doctorId, fromDate.toLocalDate()));
+            }
+            dirty.add(new DayKey(doctorId, toDate.toLocalDate()));
+        });
+    }
+
+    public List<UtilizationDTO> getUtilization(Long doctorId, Long fieldId, LocalDate from, LocalDate to) {
+        if ((doctorId == null) == (fieldId == null)) {
+            throw new RuntimeException("Specify exactly one of doctorId or fieldId");
+        }
+        if (to.isBefore(from)) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new RuntimeException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+        if (from.isBefore(horizon())) {
+            throw new RuntimeException("Live statistics cover the last " + retentionDays
+                + " days; older days are in utilization_snapshots");
+        }
+
+        Counters current = counters;
+        List<UtilizationDTO> result = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            DayKey key = new DayKey(doctorId != null ? doctorId : fieldId, date);
+            DayCounts counts = (doctorId != null ? current.byDoctor : current.byField).getOrDefault(key, DayCounts.ZERO);
+            int capacity = doctorId != null ? availabilityEngine.capacity(doctorId, date) : fieldCapacity(fieldId, date);
+            result.add(counts.toDTO(date, capacity));
+        }
+        return result;
+    }
+
+    // Reconciliation: recomputes every counter from the appointments table and swaps it in.
+    // One rebuild at a time. Changes applied after it starts are journaled on the outgoing
+    // counters and replayed onto the new ones, so none is lost. A change that committed just
+    // before the scan but was applied after the journal opened is counted twice; the next
+    // rebuild corrects it.
+    @Scheduled(cron = "${stats.rebuild-cron:0 30 3 * * *}")
+    public synchronized int rebuild() {
+        Counters previous = counters;
+        Counters fresh = new Counters();
+        Queue<Delta> journal = new ConcurrentLinkedQueue<>();
+        previous.journal = journal;
+        jdbcTemplate.query(REBUILD_SQL, rs -> {
+            fresh.add(rs.getLong("doctor_id"), rs.getLong("medical_field_id"), rs.getDate("stat_date").toLocalDate(),
+                AppointmentStatus.valueOf(rs.getString("status")), rs.getLong("total"));
+        }, Date.valueOf(horizon()));
+
+        counters = fresh;
+        previous.sealed = true;
+        for (Delta delta = journal.poll(); delta != null; delta = journal.poll()) {
+            delta.applyTo(fresh);
+        }
+
+        Set<DayKey> keys = new HashSet<>(fresh.byDoctor.keySet());
+        keys.addAll(previous.byDoctor.keySet());
+        int mismatches = 0;
+        for (DayKey key : keys) {
+            DayCounts expected = fresh.byDoctor.getOrDefault(key, DayCounts.ZERO);
+            DayCounts actual = previous.byDoctor.getOrDefault(key, DayCounts.ZERO);
+            if (!expected.sameAs(actual)) {
+                mismatches++;
+                log.debug("Utilization drift for doctor {} on {}: memory={} database={}",
+                    key.id(), key.date(), actual, expected);
+            }
+        }
+
+        fieldCapacity.clear();
+        dirty.addAll(keys);
+        log.info("Utilization statistics rebuilt for {} doctor-days, {} differed", fresh.byDoctor.size(), mismatches);
+        return mismatches;
+    }
+
+    // Writes the doctor-days changed since the last run; days that fell to zero lose their row
+    @Scheduled(fixedDelayString = "${stats.snapshot-interval:300000}",
+               initialDelayString = "${stats.snapshot-interval:300000}")
+    public int snapshot() {
+        List<DayKey> keys = new ArrayList<>(dirty);
+        dirty.removeAll(keys);
+        if (keys.isEmpty()) {
+            prune();
+            return 0;
+        }
+
+        Counters current = counters;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> deletes = new ArrayList<>(keys.size());
+        List<Object[]> inserts = new ArrayList<>(keys.size());
+        for (DayKey key : keys) {
+            deletes.add(new Object[]{key.id(), Date.valueOf(key.date())});
+            DayCounts counts = current.byDoctor.get(key);
+            if (counts != null && !counts.isZero()) {
+                inserts.add(new Object[]{key.id(), counts.fieldId, Date.valueOf(key.date()),
+                    availabilityEngine.capacity(key.id(), key.date()),
+                    counts.booked.sum(), counts.cancelled.sum(), counts.movedIn.sum(), now});
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                batch("DELETE FROM utilization_snapshots WHERE doctor_id = ? AND stat_date = ?", deletes);
+                batch("INSERT INTO utilization_snapshots (doctor_id, medical_field_id, stat_date, capacity, " +
+                      "booked, cancelled, moved_in, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", inserts);
+            });
+        } catch (RuntimeException e) {
+            // Retry these days on the next run
+            dirty.addAll(keys);
+            log.error("Error writing utilization snapshot: {}", e.getMessage(), e);
+            return 0;
+        }
+        prune();
+        return inserts.size();
+    }
+
+    // Schedules or doctors changed, so field capacities are recomputed on next read
+    @EventListener
+    public void onSlotsChanged(SlotAvailabilityChangedEvent event) {
+        if (event.date() == null) {
+            fieldCapacity.clear();
+        }
+    }
+
+    @EventListener
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        fieldCapacity.clear();
+    }
+
+    private void loadSnapshots() {
+        Counters loaded = new Counters();
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            long doctorId = rs.getLong("doctor_id");
+            long fieldId = rs.getLong("medical_field_id");
+            LocalDate date = rs.getDate("stat_date").toLocalDate();
+            loaded.add(doctorId, fieldId, date, AppointmentStatus.SCHEDULED, rs.getLong("booked") - rs.getLong("moved_in"));
+            loaded.add(doctorId, fieldId, date, AppointmentStatus.RESCHEDULED, rs.getLong("moved_in"));
+            loaded.add(doctorId, fieldId, date, AppointmentStatus.CANCELLED, rs.getLong("cancelled"));
+        }, Date.valueOf(horizon()));
+        counters = loaded;
+        log.info("Utilization statistics loaded from {} snapshot rows", loaded.byDoctor.size());
+    }
+
+    private int fieldCapacity(Long fieldId, LocalDate date) {
+        return fieldCapacity.computeIfAbsent(new DayKey(fieldId, date),
+            key -> availabilityEngine.capacity(doctorRepository.findIdsByMedicalFieldId(fieldId), date));
+    }
+
+    // Drops days that left the retention window and have already been written
+    private void prune() {
+        LocalDate horizon = horizon();
+        Counters current = counters;
+        current.byDoctor.keySet().removeIf(key -> key.date().isBefore(horizon) && !dirty.contains(key));
+        current.byField.keySet().removeIf(key -> key.date().isBefore(horizon));
+        fieldCapacity.keySet().removeIf(key -> key.date().isBefore(horizon));
+    }
+
+    private LocalDate horizon() {
+        return LocalDate.now().minusDays(retentionDays);
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+
+    // Doctor id or field id, depending on the map
+    private record DayKey(Long id, LocalDate date) {
+    }
+
+    // One committed status/date change of an appointment
+    private record Delta(Long doctorId, Long fieldId, LocalDateTime fromDate, AppointmentStatus fromStatus,
+                         LocalDateTime toDate, AppointmentStatus toStatus) {
+        void applyTo(Counters counters) {
+            if (fromDate != null) {
+                counters.add(doctorId, fieldId, fromDate.toLocalDate(), fromStatus, -1);
+            }
+            counters.add(doctorId, fieldId, toDate.toLocalDate(), toStatus, 1);
+        }
+    }
+
+    private static final class Counters {
+        final Map<DayKey, DayCounts> byDoctor = new ConcurrentHashMap<>();
+        final Map<DayKey, DayCounts> byField = new ConcurrentHashMap<>();
+        // Set while rebuild() scans, then sealed once the replacement is in place
+        volatile Queue<Delta> journal;
+        volatile boolean sealed;
+
+        void add(Long doctorId, Long fieldId, LocalDate date, AppointmentStatus status, long delta) {
+            byDoctor.computeIfAbsent(new DayKey(doctorId, date), key -> new DayCounts(fieldId)).add(status, delta);
+            byField.computeIfAbsent(new DayKey(fieldId, date), key -> new DayCounts(fieldId)).add(status, delta);
+        }
+    }
+
+    private static final class DayCounts {
+        static final DayCounts ZERO = new DayCounts(null);
+
+        final Long fieldId;
+        final LongAdder booked = new LongAdder();
+        final LongAdder cancelled = new LongAdder();
+        final LongAdder movedIn = new LongAdder();
+
+        DayCounts(Long fieldId) {
+            this.fieldId = fieldId;
+        }
+
+        // SCHEDULED and COMPLETED count as booked, RESCHEDULED as booked and moved in
+        void add(AppointmentStatus status, long delta) {
+            switch (status) {
+                case SCHEDULED, COMPLETED -> booked.add(delta);
+                case RESCHEDULED -> {
+                    booked.add(delta);
+                    movedIn.add(delta);
+                }
+                case CANCELLED -> cancelled.add(delta);
+            }
+        }
+
+        boolean isZero() {
+            return booked.sum() == 0 && cancelled.sum() == 0 && movedIn.sum() == 0;
+        }
+
+        boolean sameAs(DayCounts other) {
+            return booked.sum() == other.booked.sum() && cancelled.sum() == other.cancelled.sum()
+                && movedIn.sum() == other.movedIn.sum();
+        }
+
+        UtilizationDTO toDTO(LocalDate date, int capacity) {
+            long live = booked.sum();
+            long cancelledCount = cancelled.sum();
+            long movedInCount = movedIn.sum();
+            long total = live + cancelledCount;
+            return new UtilizationDTO(date, capacity, live, cancelledCount, movedInCount,
+                capacity == 0 ? 0.0 : (double) live / capacity,
+                total == 0 ? 0.0 : (double) cancelledCount / total,
+                total == 0 ? 0.0 : (double) movedInCount / total);
+        }
+
+        @Override
+        public String toString() {
+            return "booked=" + booked.sum() + " cancelled=" + cancelled.sum() + " movedIn=" + movedIn.sum();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.shiba.medical.service;
+
+import com.shiba.medical.model.ScheduleException.ExceptionType;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// A doctor's bookable start times for any date: one sorted array per weekday plus a per-date
+// override for days with exceptions, so a lookup is a map probe and an array index. Arrays with
+// the same content are shared through the Interner, so a hospital of doctors on the same hours
+// costs one array per distinct day rather than one per doctor.
+final class WeeklySchedule {
+    private static final LocalTime[] NONE = new LocalTime[0];
+    private static final int DAYS = DayOfWeek.values().length;
+
+    static final WeeklySchedule EMPTY = new WeeklySchedule(filled(NONE), Map.of());
+
+    private final LocalTime[][] byDay;
+    private final Map<LocalDate, LocalTime[]> overrides;
+
+    private WeeklySchedule(LocalTime[][] byDay, Map<LocalDate, LocalTime[]> overrides) {
+        this.byDay = byDay;
+        this.overrides = overrides;
+    }
+
+    // Callers must not modify the returned array
+    LocalTime[] slotsFor(LocalDate date) {
+        LocalTime[] override = overrides.get(date);
+        return override != null ? override : byDay[date.getDayOfWeek().ordinal()];
+    }
+
+    // Start times of slotMinutes-long slots that fit entirely between start and end
+    static List<LocalTime> expand(LocalTime start, LocalTime end, int slotMinutes) {
+        List<LocalTime> result = new ArrayList<>();
+        for (LocalTime t = start; ; ) {
+            LocalTime next = t.plusMinutes(slotMinutes);
+            if (next.isAfter(end) || !next.isAfter(t)) {
+                return result;
+            }
+            result.add(t);
+            t = next;
+        }
+    }
+
+    private static LocalTime[][] filled(LocalTime[] slots) {
+        LocalTime[][] days = new LocalTime[DAYS][];
+        for (int i = 0; i < DAYS; i++) {
+            days[i] = slots;
+        }
+        return days;
+    }
+
+    static final class Interner {
+        private final Map<List<LocalTime>, LocalTime[]> arrays = new HashMap<>();
+
+        synchronized LocalTime[] intern(TreeSet<LocalTime> times) {
+            if (times.isEmpty()) {
+                return NONE;
+            }
+            return arrays.computeIfAbsent(List.copyOf(times), list -> list.toArray(LocalTime[]::new));
+        }
+    }
+
+    static final class Builder {
+        private final Interner interner;
+        private final TreeSet<LocalTime> legacy = new TreeSet<>();
+        private final Map<DayOfWeek, TreeSet<LocalTime>> weekly = new EnumMap<>(DayOfWeek.class);
+        private final Map<LocalDate, List<Change>> exceptions = new TreeMap<>();
+
+        Builder(Interner interner) {
+            this.interner = interner;
+        }
+
+        // A time_slots start time, used every day when the doctor has no weekly template
+        Builder legacySlot(LocalTime start) {
+            legacy.add(start);
+            return this;
+        }
+
+        Builder weekly(DayOfWeek day, LocalTime start, LocalTime end, int slotMinutes) {
+            weekly.computeIfAbsent(day, d -> new TreeSet<>()).addAll(expand(start, end, slotMinutes));
+            return this;
+        }
+
+        Builder exception(LocalDate date, ExceptionType type, LocalTime start, LocalTime end, Integer slotMinutes) {
+            exceptions.computeIfAbsent(date, d -> new ArrayList<>()).add(new Change(type, start, end, slotMinutes));
+            return this;
+        }
+
+        boolean isEmpty() {
+            return legacy.isEmpty() && weekly.isEmpty() && exceptions.isEmpty();
+        }
+
+        WeeklySchedule build() {
+            LocalTime[][] byDay;
+            if (weekly.isEmpty()) {
+                byDay = filled(interner.intern(legacy));
+            } else {
+                byDay = new LocalTime[DAYS][];
+                for (DayOfWeek day : DayOfWeek.values()) {
+                    byDay[day.ordinal()] = interner.intern(weekly.getOrDefault(day, new TreeSet<>()));
+                }
+            }
+
+            Map<LocalDate, LocalTime[]> overrides = new HashMap<>();
+            exceptions.forEach((date, changes) -> {
+                TreeSet<LocalTime> day = new TreeSet<>(List.of(byDay[date.getDayOfWeek().ordinal()]));
+                // Closures first, so an extra clinic on a day off still opens
+                for (Change change : changes) {
+                    if (change.type() != ExceptionType.CLOSED) {
+                        continue;
+                    }
+                    if (change.start() == null || change.end() == null) {
+                        day.clear();
+                    } else if (change.start().isBefore(change.end())) {
+                        day.subSet(change.start(), change.end()).clear();
+                    }
+                }
+                for (Change change : changes) {
+                    if (change.type() == ExceptionType.EXTRA && change.start() != null && change.end() != null
+                            && change.slotMinutes() != null) {
+                        day.addAll(expand(change.start(), change.end(), change.slotMinutes()));
+                    }
+                }
+                overrides.put(date, interner.intern(day));
+            });
+            return new WeeklySchedule(byDay, overrides);
+        }
+
+        private record Change(ExceptionType type, LocalTime start, LocalTime end, Integer slotMinutes) {
+        }
+    }
+}
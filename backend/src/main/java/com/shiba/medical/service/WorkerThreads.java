@@ -0,0 +1,27 @@
+package com.shiba.medical.service;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Thread factories for the service worker pools. Follows the same switch Boot uses for Tomcat
+// and the scheduler, so spring.threads.virtual.enabled moves these pools to virtual threads too.
+final class WorkerThreads {
+    private WorkerThreads() {
+    }
+
+    static ThreadFactory named(String prefix, Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return new VirtualThreadTaskExecutor(prefix + "-").getVirtualThreadFactory();
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package com.shiba.medical.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+// A pre-serialized JSON body with a strong ETag derived from its bytes
+public record CachedJson(byte[] body, String eTag) {
+
+    public static CachedJson of(byte[] body) {
+        return new CachedJson(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+    }
+
+    public ResponseEntity<byte[]> toResponse(String ifNoneMatch) {
+        if (matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .build();
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(eTag)
+            .cacheControl(CacheControl.noCache())
+            .body(body);
+    }
+
+    // If-None-Match uses weak comparison (RFC 9110 13.1.2), so a W/ prefix is ignored. Entity
+    // tags may themselves contain commas, so the list is walked quote to quote rather than split;
+    // a malformed list matches nothing and gets the full body.
+    boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        if (ifNoneMatch.trim().equals("*")) {
+            return true;
+        }
+        int i = 0;
+        while (i < ifNoneMatch.length()) {
+            char c = ifNoneMatch.charAt(i);
+            if (c == ',' || c == ' ' || c == '\t') {
+                i++;
+                continue;
+            }
+            if (ifNoneMatch.startsWith("W/", i)) {
+                i += 2;
+            }
+            int end = i < ifNoneMatch.length() && ifNoneMatch.charAt(i) == '"' ? ifNoneMatch.indexOf('"', i + 1) : -1;
+            if (end < 0) {
+                return false;
+            }
+            if (end + 1 - i == eTag.length() && ifNoneMatch.startsWith(eTag, i)) {
+                return true;
+            }
+            i = end + 1;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,11 @@
+package com.shiba.medical.util;
+
+import java.time.Instant;
+
+// Result of a single verified JWT parse
+public record JwtPrincipal(Long userId, String phone, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -1,13 +1,21 @@
 package com.shiba.medical.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -21,6 +29,29 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    @Value("${jwt.cache-size:10000}")
+    private int cacheSize;
+
+    // Key and parser are immutable and thread-safe, so they are built once
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // Already-verified tokens, bounded by jwt.cache-size: when full Caffeine evicts by recency and
+    // frequency in O(1), and each entry expires with its token. Null when the size is 0.
+    private Cache<String, JwtPrincipal> verified;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
+        if (cacheSize > 0) {
+            verified = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+        }
+    }
+
     public String generateToken(Long userId, String phone) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
@@ -29,26 +60,47 @@ public class JwtUtil {
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .claims(claims)
                 .subject(subject)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration))
+                .signWith(signingKey)
                 .compact();
     }
 
-    public Long getUserIdFromToken(String token) {
+    // Verifies signature and expiry once and returns the typed principal.
+    // Throws a JwtException if the token is invalid or expired.
+    public JwtPrincipal verify(String token) {
+        Instant now = Instant.now();
+        JwtPrincipal cached = verified != null ? verified.getIfPresent(token) : null;
+        if (cached != null && !cached.isExpired(now)) {
+            return cached;
+        }
+
         Claims claims = extractAllClaims(token);
-        return claims.get("userId", Long.class);
+        JwtPrincipal principal = new JwtPrincipal(
+            claims.get("userId", Long.class), claims.getSubject(), claims.getExpiration().toInstant());
+        if (principal.isExpired(now)) {
+            throw new ExpiredJwtException(null, claims, "JWT expired");
+        }
+        if (verified != null) {
+            verified.put(token, principal);
+        }
+        return principal;
+    }
+
+    public Long getUserIdFromToken(String token) {
+        return verify(token).userId();
     }
 
     public String getPhoneFromToken(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).phone();
     }
 
     public Date getExpirationDateFromToken(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return Date.from(verify(token).expiresAt());
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -57,25 +109,32 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return getExpirationDateFromToken(token).before(new Date());
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public Boolean validateToken(String token, String phone) {
-        final String tokenPhone = getPhoneFromToken(token);
-        return (tokenPhone.equals(phone) && !isTokenExpired(token));
+        try {
+            return verify(token).phone().equals(phone);
+        } catch (RuntimeException e) {
+            return false;
+        }
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    // Reads and re-puts keep the deadline set when the token was first cached
+    private static final class UntilTokenExpiry implements Expiry<String, JwtPrincipal> {
+        @Override
+        public long expireAfterCreate(String token, JwtPrincipal principal, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), principal.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
-
@@ -0,0 +1,187 @@
+package com.shiba.medical.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Immutable n-gram index over a primary text (e.g. a name) and an optional secondary text
+// (e.g. a description). Queries of up to three characters hit a single posting list, longer
+// queries intersect their trigram postings and are verified against the text.
+public final class NgramIndex<T> {
+    private static final int MAX_GRAM = 3;
+    private static final int[] NO_POSTINGS = new int[0];
+
+    // Rank buckets, best first
+    private static final int EXACT = 0;
+    private static final int PREFIX = 1;
+    private static final int WORD_PREFIX = 2;
+    private static final int SUBSTRING = 3;
+    private static final int SECONDARY = 4;
+    private static final int NO_MATCH = -1;
+
+    private final List<T> items;
+    private final String[] primary;
+    private final String[] secondary;
+    private final Map<String, int[]> postings;
+
+    private NgramIndex(List<Document<T>> documents) {
+        int size = documents.size();
+        this.items = new ArrayList<>(size);
+        this.primary = new String[size];
+        this.secondary = new String[size];
+
+        Map<String, List<Integer>> grams = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            Document<T> document = documents.get(i);
+            items.add(document.item());
+            primary[i] = document.primary();
+            secondary[i] = document.secondary();
+            addGrams(grams, document.primary(), i);
+            addGrams(grams, document.secondary(), i);
+        }
+
+        this.postings = new HashMap<>(grams.size() * 2);
+        grams.forEach((gram, ids) -> postings.put(gram, ids.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public List<T> search(String query, int limit) {
+        String q = normalize(query);
+        if (limit <= 0) {
+            return List.of();
+        }
+        if (q.isEmpty()) {
+            return List.copyOf(items.subList(0, Math.min(limit, items.size())));
+        }
+
+        int[] candidates = candidates(q);
+
+        // Candidates are visited in primary-text order, so each bucket stays alphabetical
+        List<List<T>> buckets = new ArrayList<>(SECONDARY + 1);
+        for (int i = 0; i <= SECONDARY; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        int better = 0;
+        for (int id : candidates) {
+            int rank = rank(q, id);
+            if (rank == NO_MATCH || buckets.get(rank).size() >= limit) {
+                continue;
+            }
+            buckets.get(rank).add(items.get(id));
+            if (rank == EXACT && ++better >= limit) {
+                break;
+            }
+        }
+
+        List<T> result = new ArrayList<>(limit);
+        for (List<T> bucket : buckets) {
+            for (T item : bucket) {
+                if (result.size() == limit) {
+                    return result;
+                }
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    private int[] candidates(String q) {
+        if (q.length() <= MAX_GRAM) {
+            return postings.getOrDefault(q, NO_POSTINGS);
+        }
+        List<int[]> lists = new ArrayList<>(q.length() - MAX_GRAM + 1);
+        for (int i = 0; i + MAX_GRAM <= q.length(); i++) {
+            int[] list = postings.get(q.substring(i, i + MAX_GRAM));
+            if (list == null) {
+                return NO_POSTINGS;
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.length));
+        int[] result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    private int rank(String q, int id) {
+        String name = primary[id];
+        if (name.equals(q)) {
+            return EXACT;
+        }
+        if (name.startsWith(q)) {
+            return PREFIX;
+        }
+        int from = name.indexOf(q, 1);
+        if (from >= 0) {
+            for (int at = from; at >= 0; at = name.indexOf(q, at + 1)) {
+                if (!Character.isLetterOrDigit(name.charAt(at - 1))) {
+                    return WORD_PREFIX;
+                }
+            }
+            return SUBSTRING;
+        }
+        return secondary[id].contains(q) ? SECONDARY : NO_MATCH;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                out[n++] = a[i];
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static void addGrams(Map<String, List<Integer>> grams, String text, int id) {
+        for (int start = 0; start < text.length(); start++) {
+            for (int len = 1; len <= MAX_GRAM && start + len <= text.length(); len++) {
+                List<Integer> ids = grams.computeIfAbsent(text.substring(start, start + len), g -> new ArrayList<>());
+                if (ids.isEmpty() || ids.get(ids.size() - 1) != id) {
+                    ids.add(id);
+                }
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Document<T>(T item, String primary, String secondary) {
+    }
+
+    public static final class Builder<T> {
+        private final List<Document<T>> documents = new ArrayList<>();
+
+        public Builder<T> add(T item, String primary, String secondary) {
+            documents.add(new Document<>(item, normalize(primary), normalize(secondary)));
+            return this;
+        }
+
+        public NgramIndex<T> build() {
+            documents.sort(Comparator.comparing(Document::primary));
+            return new NgramIndex<>(documents);
+        }
+    }
+}
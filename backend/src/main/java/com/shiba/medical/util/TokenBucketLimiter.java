@@ -0,0 +1,54 @@
+package com.shiba.medical.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Keyed token bucket in GCRA form: each key holds a single "theoretical arrival time",
+// replaced atomically inside its map entry, so an allowed request costs one map compute.
+// Memory is bounded by maxKeys: keys whose bucket has fully refilled are idle and swept by
+// evictIdle, and while the table is full of live keys new keys are refused (fail closed).
+public final class TokenBucketLimiter {
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxKeys;
+    private final ConcurrentHashMap<String, Long> buckets = new ConcurrentHashMap<>();
+
+    public TokenBucketLimiter(int capacity, int refillPerMinute, int maxKeys) {
+        this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, refillPerMinute);
+        this.burstToleranceNanos = emissionIntervalNanos * (Math.max(1, capacity) - 1);
+        this.maxKeys = maxKeys;
+    }
+
+    public boolean tryAcquire(String key) {
+        // Concurrent first calls can overshoot maxKeys by at most the number of callers
+        if (buckets.size() >= maxKeys && !buckets.containsKey(key)) {
+            return false;
+        }
+        long now = System.nanoTime();
+        boolean[] allowed = {false};
+        buckets.compute(key, (k, arrival) -> {
+            long base = arrival != null && arrival - now > 0 ? arrival : now;
+            if (base - now > burstToleranceNanos) {
+                return arrival;
+            }
+            allowed[0] = true;
+            return base + emissionIntervalNanos;
+        });
+        return allowed[0];
+    }
+
+    // Removes a key only if its arrival time is still the idle one that was read, so a bucket
+    // updated in the meantime is kept
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.forEach((key, arrival) -> {
+            if (arrival - now <= 0) {
+                buckets.remove(key, arrival);
+            }
+        });
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,75 @@
+-- Baseline schema, matching the JPA mappings in com.shiba.medical.model
+
+CREATE TABLE medical_fields (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    description TEXT,
+    CONSTRAINT uk_medical_fields_name UNIQUE (name)
+);
+
+CREATE TABLE doctors (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name             VARCHAR(255) NOT NULL,
+    medical_field_id BIGINT NOT NULL,
+    experience_years INTEGER,
+    CONSTRAINT fk_doctors_medical_field FOREIGN KEY (medical_field_id) REFERENCES medical_fields (id)
+);
+
+CREATE TABLE time_slots (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    doctor_id    BIGINT NOT NULL,
+    start_time   TIME NOT NULL,
+    end_time     TIME NOT NULL,
+    is_available BOOLEAN NOT NULL,
+    CONSTRAINT fk_time_slots_doctor FOREIGN KEY (doctor_id) REFERENCES doctors (id)
+);
+
+CREATE TABLE users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    phone      VARCHAR(255) NOT NULL,
+    name       VARCHAR(255),
+    created_at TIMESTAMP(6),
+    verified   BOOLEAN,
+    CONSTRAINT uk_users_phone UNIQUE (phone)
+);
+
+-- active_slot mirrors appointment_date while the booking is SCHEDULED/RESCHEDULED and is NULL
+-- otherwise, so the unique constraint rejects double-booking without blocking cancelled rows
+CREATE TABLE appointments (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id          BIGINT NOT NULL,
+    doctor_id        BIGINT NOT NULL,
+    appointment_date TIMESTAMP(6) NOT NULL,
+    status           VARCHAR(20) NOT NULL,
+    notes            TEXT,
+    created_at       TIMESTAMP(6),
+    active_slot      TIMESTAMP(6),
+    reminder_sent_at TIMESTAMP(6),
+    CONSTRAINT fk_appointments_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_appointments_doctor FOREIGN KEY (doctor_id) REFERENCES doctors (id),
+    CONSTRAINT ck_appointments_status CHECK (status IN ('SCHEDULED', 'CANCELLED', 'COMPLETED', 'RESCHEDULED')),
+    CONSTRAINT uk_appointments_doctor_active_slot UNIQUE (doctor_id, active_slot)
+);
+
+CREATE TABLE otp_codes (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    phone      VARCHAR(255) NOT NULL,
+    code       VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    created_at TIMESTAMP(6)
+);
+
+CREATE TABLE reminder_outbox (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    appointment_id   BIGINT NOT NULL,
+    phone            VARCHAR(255) NOT NULL,
+    doctor_name      VARCHAR(255) NOT NULL,
+    appointment_date TIMESTAMP(6) NOT NULL,
+    status           VARCHAR(20) NOT NULL,
+    attempts         INTEGER NOT NULL,
+    last_error       VARCHAR(255),
+    created_at       TIMESTAMP(6),
+    sent_at          TIMESTAMP(6),
+    CONSTRAINT ck_reminder_outbox_status CHECK (status IN ('PENDING', 'SENT', 'FAILED')),
+    CONSTRAINT uk_reminder_outbox_appointment UNIQUE (appointment_id, appointment_date)
+);
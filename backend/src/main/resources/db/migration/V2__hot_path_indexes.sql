@@ -0,0 +1,22 @@
+-- Indexes for the queries on the request path; each is named after the repository method it serves
+
+-- existsByDoctorIdAndAppointmentDateAndStatusIn, findActiveDatesByDoctorId(In)
+CREATE INDEX idx_appointments_doctor_date_status ON appointments (doctor_id, appointment_date, status);
+
+-- findUserPageBefore (keyset on appointment_date DESC, id DESC) and the findByUserId* history queries
+CREATE INDEX idx_appointments_user_date ON appointments (user_id, appointment_date, id);
+
+-- findReminderCandidates: appointments in the next-24h window
+CREATE INDEX idx_appointments_date ON appointments (appointment_date);
+
+-- findByDoctorId and the availability engine's per-doctor slot loads
+CREATE INDEX idx_time_slots_doctor ON time_slots (doctor_id, start_time);
+
+-- findSummariesByMedicalFieldId, findIdsByMedicalFieldId
+CREATE INDEX idx_doctors_medical_field ON doctors (medical_field_id);
+
+-- deleteByPhone, deleteByPhoneAndCodeAndExpiresAtAfter (otp.store=jpa)
+CREATE INDEX idx_otp_codes_phone_expires ON otp_codes (phone, expires_at);
+
+-- findByStatusAndIdGreaterThanOrderByIdAsc, countByStatus
+CREATE INDEX idx_reminder_outbox_status ON reminder_outbox (status, id);
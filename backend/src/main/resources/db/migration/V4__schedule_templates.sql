@@ -0,0 +1,32 @@
+-- Recurring weekly hours per doctor and date-specific exceptions (vacations, extra clinics).
+-- Doctors without templates keep using their time_slots start times every day.
+
+CREATE TABLE schedule_templates (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    doctor_id    BIGINT NOT NULL,
+    day_of_week  VARCHAR(10) NOT NULL,
+    start_time   TIME NOT NULL,
+    end_time     TIME NOT NULL,
+    slot_minutes INTEGER NOT NULL,
+    CONSTRAINT fk_schedule_templates_doctor FOREIGN KEY (doctor_id) REFERENCES doctors (id),
+    CONSTRAINT ck_schedule_templates_day CHECK (day_of_week IN
+        ('MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY', 'FRIDAY', 'SATURDAY', 'SUNDAY'))
+);
+
+CREATE INDEX idx_schedule_templates_doctor ON schedule_templates (doctor_id);
+
+CREATE TABLE schedule_exceptions (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    doctor_id      BIGINT NOT NULL,
+    exception_date DATE NOT NULL,
+    type           VARCHAR(10) NOT NULL,
+    start_time     TIME,
+    end_time       TIME,
+    slot_minutes   INTEGER,
+    reason         VARCHAR(255),
+    CONSTRAINT fk_schedule_exceptions_doctor FOREIGN KEY (doctor_id) REFERENCES doctors (id),
+    CONSTRAINT ck_schedule_exceptions_type CHECK (type IN ('CLOSED', 'EXTRA'))
+);
+
+CREATE INDEX idx_schedule_exceptions_doctor_date ON schedule_exceptions (doctor_id, exception_date);
+CREATE INDEX idx_schedule_exceptions_date ON schedule_exceptions (exception_date);
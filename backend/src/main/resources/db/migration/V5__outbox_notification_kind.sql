@@ -0,0 +1,11 @@
+-- The outbox also carries clinic-initiated cancellation and reschedule notices, so the
+-- idempotency key gains the notification kind: a reminder and a notice for the same
+-- appointment time are different messages.
+
+ALTER TABLE reminder_outbox ADD COLUMN kind VARCHAR(20) DEFAULT 'REMINDER' NOT NULL;
+
+ALTER TABLE reminder_outbox DROP CONSTRAINT uk_reminder_outbox_appointment;
+ALTER TABLE reminder_outbox ADD CONSTRAINT uk_reminder_outbox_appointment
+    UNIQUE (appointment_id, appointment_date, kind);
+ALTER TABLE reminder_outbox ADD CONSTRAINT ck_reminder_outbox_kind
+    CHECK (kind IN ('REMINDER', 'CANCELLED', 'RESCHEDULED'));
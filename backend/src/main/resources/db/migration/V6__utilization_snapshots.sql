@@ -0,0 +1,18 @@
+-- Periodic snapshots of the in-memory utilization counters, one row per doctor and day.
+-- Field totals are the sum over the field's doctors.
+
+CREATE TABLE utilization_snapshots (
+    doctor_id        BIGINT NOT NULL,
+    medical_field_id BIGINT NOT NULL,
+    stat_date        DATE NOT NULL,
+    capacity         INTEGER NOT NULL,
+    booked           INTEGER NOT NULL,
+    cancelled        INTEGER NOT NULL,
+    rescheduled      INTEGER NOT NULL,
+    updated_at       TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_utilization_snapshots PRIMARY KEY (doctor_id, stat_date),
+    CONSTRAINT fk_utilization_snapshots_doctor FOREIGN KEY (doctor_id) REFERENCES doctors (id)
+);
+
+CREATE INDEX idx_utilization_snapshots_field_date ON utilization_snapshots (medical_field_id, stat_date);
+CREATE INDEX idx_utilization_snapshots_date ON utilization_snapshots (stat_date);
@@ -0,0 +1,3 @@
+-- The column holds live RESCHEDULED bookings per day, not reschedule events; name it for that.
+
+ALTER TABLE utilization_snapshots ALTER COLUMN rescheduled RENAME TO moved_in;
@@ -0,0 +1,6 @@
+-- Messages whose appointment changed before delivery (cancelled, rescheduled, shifted) are
+-- closed as CANCELLED by the dispatcher instead of being sent.
+
+ALTER TABLE reminder_outbox DROP CONSTRAINT ck_reminder_outbox_status;
+ALTER TABLE reminder_outbox ADD CONSTRAINT ck_reminder_outbox_status
+    CHECK (status IN ('PENDING', 'SENT', 'FAILED', 'CANCELLED'));
@@ -92,3 +92,8 @@ INSERT INTO time_slots (id, doctor_id, start_time, end_time, is_available) VALUE
 (55, 8, '15:00:00', '16:00:00', true),
 (56, 8, '16:00:00', '17:00:00', true);
 
+
+-- Rows above use explicit ids; move the identity columns past them
+ALTER TABLE medical_fields ALTER COLUMN id RESTART WITH 100;
+ALTER TABLE doctors ALTER COLUMN id RESTART WITH 100;
+ALTER TABLE time_slots ALTER COLUMN id RESTART WITH 1000;
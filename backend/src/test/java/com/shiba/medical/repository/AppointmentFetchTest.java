@@ -0,0 +1,112 @@
+package com.shiba.medical.repository;
+
+import com.shiba.medical.model.Appointment;
+import com.shiba.medical.model.Appointment.AppointmentStatus;
+import com.shiba.medical.model.Doctor;
+import com.shiba.medical.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// User read paths load doctor and field through their entity graph: one statement per
+// query whatever the number of rows, and nothing lazy left for convertToDTO to trip over
+@DataJpaTest
+@ActiveProfiles("hibernate-stats")
+class AppointmentFetchTest {
+    private static final int APPOINTMENTS = 6;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+    private LocalDateTime firstDate;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setPhone("+15550000001");
+        user.setName("Fetch Test");
+        entityManager.persist(user);
+
+        // Spread over every sample doctor, so each row has a different doctor and field to load
+        List<Doctor> doctors = doctorRepository.findAll();
+        firstDate = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        for (int i = 0; i < APPOINTMENTS; i++) {
+            Appointment appointment = new Appointment();
+            appointment.setUser(user);
+            appointment.setDoctor(doctors.get(i % doctors.size()));
+            appointment.setAppointmentDate(firstDate.plusDays(i));
+            appointment.setStatus(AppointmentStatus.SCHEDULED);
+            entityManager.persist(appointment);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void upcomingAppointmentsLoadDoctorAndFieldInOneStatement() {
+        List<Appointment> appointments = appointmentRepository.findByUserIdAndStatusAndAppointmentDateAfter(
+            user.getId(), AppointmentStatus.SCHEDULED, firstDate.minusMinutes(1));
+
+        assertThat(appointments).hasSize(APPOINTMENTS);
+        touchDoctorAndField(appointments);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void historyPageLoadsDoctorAndFieldInOneStatement() {
+        List<Appointment> page = appointmentRepository.findUserPageBefore(
+            user.getId(), LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE, PageRequest.of(0, APPOINTMENTS));
+
+        assertThat(page).hasSize(APPOINTMENTS);
+        touchDoctorAndField(page);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void detailedLoadFetchesUserDoctorAndFieldInOneStatement() {
+        Long id = appointmentRepository.findUserPageBefore(
+            user.getId(), LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE, PageRequest.of(0, 1)).get(0).getId();
+        entityManager.clear();
+        statistics.clear();
+
+        Appointment appointment = appointmentRepository.findDetailedById(id).orElseThrow();
+
+        assertThat(appointment.getUser().getPhone()).isEqualTo(user.getPhone());
+        touchDoctorAndField(List.of(appointment));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private static void touchDoctorAndField(List<Appointment> appointments) {
+        for (Appointment appointment : appointments) {
+            assertThat(appointment.getDoctor().getName()).isNotBlank();
+            assertThat(appointment.getDoctor().getMedicalField().getName()).isNotBlank();
+        }
+    }
+}
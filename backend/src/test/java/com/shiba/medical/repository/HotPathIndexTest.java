@@ -0,0 +1,152 @@
+package com.shiba.medical.repository;
+
+import com.shiba.medical.model.Appointment.AppointmentStatus;
+import com.shiba.medical.model.ReminderOutbox.OutboxStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Each hot-path repository method is run and the SQL Hibernate generates for it, captured by a
+// StatementInspector, must EXPLAIN to a plan that uses the index serving it and scans no table.
+// Changing a query or an index so that they no longer meet fails here. The tables get a year
+// of appointments, a filled outbox and fresh statistics first, since the planner picks
+// differently on the handful of sample rows. ANALYZE commits, so the context and its database
+// are thrown away afterwards rather than leaking rows into the other @DataJpaTest classes.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.shiba.medical.repository.HotPathIndexTest$CapturingInspector")
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class HotPathIndexTest {
+    private static final int USERS = 500;
+    private static final int APPOINTMENTS = 20_000;
+    private static final int OUTBOX_ROWS = 5_000;
+    private static final List<AppointmentStatus> ACTIVE = List.of(AppointmentStatus.SCHEDULED, AppointmentStatus.RESCHEDULED);
+    private static final LocalDateTime AT = LocalDateTime.of(2030, 6, 1, 9, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private ScheduleTemplateRepository scheduleTemplateRepository;
+
+    @Autowired
+    private ScheduleExceptionRepository scheduleExceptionRepository;
+
+    @Autowired
+    private OTPCodeRepository otpCodeRepository;
+
+    @Autowired
+    private ReminderOutboxRepository reminderOutboxRepository;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO users (id, phone, name, verified) " +
+            "SELECT 100000 + x, CONCAT('1999', x), 'Index Test', TRUE FROM SYSTEM_RANGE(1, ?)", USERS);
+        // One an hour, round-robin over the sample doctors; every fifth is cancelled
+        jdbcTemplate.update("INSERT INTO appointments (user_id, doctor_id, appointment_date, status) " +
+            "SELECT 100001 + MOD(x, ?), (SELECT MIN(id) FROM doctors) + MOD(x, (SELECT COUNT(*) FROM doctors)), " +
+            "DATEADD(HOUR, x, TIMESTAMP '2030-01-01 00:00:00'), " +
+            "CASE WHEN MOD(x, 5) = 0 THEN 'CANCELLED' ELSE 'SCHEDULED' END FROM SYSTEM_RANGE(1, ?)",
+            USERS, APPOINTMENTS);
+        // Mostly delivered history with a short pending tail, as a running outbox looks
+        jdbcTemplate.update("INSERT INTO reminder_outbox (appointment_id, phone, doctor_name, appointment_date, kind, status, attempts) " +
+            "SELECT x, '15550000000', 'Dr. Index', DATEADD(HOUR, x, TIMESTAMP '2030-01-01 00:00:00'), 'REMINDER', " +
+            "CASE WHEN x > ? THEN 'PENDING' ELSE 'SENT' END, 1 FROM SYSTEM_RANGE(1, ?)", OUTBOX_ROWS - 100, OUTBOX_ROWS);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    Stream<Arguments> hotQueries() {
+        return Stream.of(
+            query("existsByDoctorIdAndAppointmentDateAndStatusIn", "IDX_APPOINTMENTS_DOCTOR_DATE_STATUS",
+                () -> appointmentRepository.existsByDoctorIdAndAppointmentDateAndStatusIn(1L, AT, ACTIVE)),
+            query("findActiveDatesByDoctorId", "IDX_APPOINTMENTS_DOCTOR_DATE_STATUS",
+                () -> appointmentRepository.findActiveDatesByDoctorId(1L, ACTIVE, AT)),
+            query("findActiveDoctorDatesByDoctorIdIn", "IDX_APPOINTMENTS_DOCTOR_DATE_STATUS",
+                () -> appointmentRepository.findActiveDoctorDatesByDoctorIdIn(List.of(1L, 2L), ACTIVE, AT)),
+            query("findUserPageBefore", "IDX_APPOINTMENTS_USER_DATE",
+                () -> appointmentRepository.findUserPageBefore(100001L, AT, 5000L, PageRequest.of(0, 20))),
+            query("findReminderCandidates", "IDX_APPOINTMENTS_DATE",
+                () -> appointmentRepository.findReminderCandidates(ACTIVE, AT, AT.plusDays(1), AT.plusHours(5), 3000L,
+                    PageRequest.of(0, 500))),
+            // H2 answers a lookup on doctor_id alone from the foreign key's own index, which leads
+            // with the same column as the explicit one; either serves the query
+            query("findAvailableStartTimesByDoctorId", "(IDX|FK)_TIME_SLOTS_DOCTOR\\w*",
+                () -> timeSlotRepository.findAvailableStartTimesByDoctorId(1L)),
+            query("findAvailableStartTimesByDoctorIdIn", "(IDX|FK)_TIME_SLOTS_DOCTOR\\w*",
+                () -> timeSlotRepository.findAvailableStartTimesByDoctorIdIn(List.of(1L, 2L))),
+            query("findRowsByDoctorIdIn", "(IDX|FK)_SCHEDULE_TEMPLATES_DOCTOR\\w*",
+                () -> scheduleTemplateRepository.findRowsByDoctorIdIn(List.of(1L, 2L))),
+            query("findRowsByDoctorIdInFrom", "IDX_SCHEDULE_EXCEPTIONS_DOCTOR_DATE",
+                () -> scheduleExceptionRepository.findRowsByDoctorIdInFrom(List.of(1L, 2L), LocalDate.of(2030, 5, 1))),
+            // Likewise for medical_field_id
+            query("findIdsByMedicalFieldId", "(IDX|FK)_DOCTORS_MEDICAL_FIELD\\w*",
+                () -> doctorRepository.findIdsByMedicalFieldId(1L)),
+            query("findSummariesByMedicalFieldId", "(IDX|FK)_DOCTORS_MEDICAL_FIELD\\w*",
+                () -> doctorRepository.findSummariesByMedicalFieldId(1L)),
+            query("deleteByPhoneAndCodeAndExpiresAtAfter", "IDX_OTP_CODES_PHONE_EXPIRES",
+                () -> otpCodeRepository.deleteByPhoneAndCodeAndExpiresAtAfter("15550000000", "123456", AT)),
+            query("findWithAppointmentByStatusAfterId", "IDX_REMINDER_OUTBOX_STATUS",
+                () -> reminderOutboxRepository.findWithAppointmentByStatusAfterId(OutboxStatus.PENDING, 0L,
+                    PageRequest.of(0, 200))),
+            query("countByStatus", "IDX_REMINDER_OUTBOX_STATUS",
+                () -> reminderOutboxRepository.countByStatus(OutboxStatus.PENDING)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void usesIndex(String method, String index, Runnable call) {
+        // Cached query results would skip the statement altogether
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        CapturingInspector.STATEMENTS.clear();
+        call.run();
+
+        assertThat(CapturingInspector.STATEMENTS).hasSize(1);
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + CapturingInspector.STATEMENTS.get(0), String.class);
+        assertThat(plan).containsPattern("PUBLIC\\." + index + ":").doesNotContain("tableScan");
+    }
+
+    private static Arguments query(String method, String index, Runnable call) {
+        return Arguments.of(method, index, call);
+    }
+
+    // Registered by class name on the session factory; records every statement Hibernate prepares
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.shiba.medical.service;
+
+import com.shiba.medical.repository.AppointmentRepository;
+import com.shiba.medical.repository.DoctorRepository;
+import com.shiba.medical.repository.ScheduleExceptionRepository;
+import com.shiba.medical.repository.ScheduleTemplateRepository;
+import com.shiba.medical.repository.TimeSlotRepository;
+import com.shiba.medical.service.AvailabilityEngine.FreeSlot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// The engine against stubbed repositories: every load goes through rebuild(), so the tests
+// control exactly what the database returns and when a change commits relative to it
+class AvailabilityEngineTest {
+    private static final LocalDate DAY = LocalDate.now().plusDays(1);
+
+    private final TimeSlotRepository timeSlotRepository = mock(TimeSlotRepository.class);
+    private final AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final List<Object[]> slots = new ArrayList<>();
+    private final List<Object[]> bookings = new ArrayList<>();
+
+    private AvailabilityEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new AvailabilityEngine(timeSlotRepository, appointmentRepository, mock(ScheduleTemplateRepository.class),
+            mock(ScheduleExceptionRepository.class), mock(DoctorRepository.class), eventPublisher);
+        when(timeSlotRepository.findAvailableStartTimes()).thenReturn(slots);
+        when(appointmentRepository.findActiveDoctorDates(any(), any())).thenAnswer(invocation -> List.copyOf(bookings));
+    }
+
+    @Test
+    void rebuildMarksBookedSlots() {
+        slots(1L, 9, 10);
+        bookings.add(row(1L, at(DAY, 9)));
+
+        engine.rebuild();
+
+        assertThat(engine.getAvailableSlots(1L, DAY)).containsExactly(LocalTime.of(10, 0));
+        assertThat(engine.capacity(1L, DAY)).isEqualTo(2);
+    }
+
+    @Test
+    void changeCommittedDuringReloadIsReplayed() {
+        slots(1L, 9, 10);
+        engine.rebuild();
+        // The booking commits after the reload has read the appointments, so only the journal has it
+        when(appointmentRepository.findActiveDoctorDates(any(), any())).thenAnswer(invocation -> {
+            List<Object[]> snapshot = List.copyOf(bookings);
+            engine.book(1L, at(DAY, 10));
+            return snapshot;
+        });
+
+        engine.rebuild();
+
+        assertThat(engine.isFree(1L, at(DAY, 10))).isFalse();
+        assertThat(engine.getAvailableSlots(1L, DAY)).containsExactly(LocalTime.of(9, 0));
+    }
+
+    @Test
+    void evictionDuringReloadDropsTheFreshCalendar() {
+        slots(1L, 9);
+        engine.rebuild();
+        when(appointmentRepository.findActiveDoctorDates(any(), any())).thenAnswer(invocation -> {
+            engine.evictDoctor(1L);
+            return List.of();
+        });
+
+        engine.rebuild();
+
+        // Evicted doctors are loaded again on next use, from the per-doctor queries
+        assertThat(engine.getAvailableSlots(1L, DAY)).isEmpty();
+        verify(timeSlotRepository).findAvailableStartTimesByDoctorId(1L);
+    }
+
+    @Test
+    void verifyConsistencyReportsAndRepairsDrift() {
+        slots(1L, 9, 10);
+        bookings.add(row(1L, at(DAY, 9)));
+        engine.rebuild();
+        // Memory frees a slot the database still has booked
+        engine.release(1L, at(DAY, 9));
+        assertThat(engine.isFree(1L, at(DAY, 9))).isTrue();
+
+        assertThat(engine.verifyConsistency()).isEqualTo(1);
+
+        assertThat(engine.isFree(1L, at(DAY, 9))).isFalse();
+        verify(eventPublisher, times(2)).publishEvent(new SlotAvailabilityChangedEvent(1L, DAY));
+        assertThat(engine.verifyConsistency()).isZero();
+    }
+
+    @Test
+    void verifyConsistencyIgnoresChangesJournaledDuringItsLoad() {
+        slots(1L, 9, 10);
+        engine.rebuild();
+        when(appointmentRepository.findActiveDoctorDates(any(), any())).thenAnswer(invocation -> {
+            List<Object[]> snapshot = List.copyOf(bookings);
+            engine.book(1L, at(DAY, 10));
+            return snapshot;
+        });
+
+        assertThat(engine.verifyConsistency()).isZero();
+        assertThat(engine.isFree(1L, at(DAY, 10))).isFalse();
+    }
+
+    @Test
+    void findEarliestMergesDoctorsInTimeOrder() {
+        slots(1L, 9, 11);
+        slots(2L, 10);
+        slots(3L, 9, 12);
+        bookings.add(row(3L, at(DAY, 9)));
+        engine.rebuild();
+
+        List<FreeSlot> earliest = engine.findEarliest(List.of(3L, 2L, 1L), DAY.atStartOfDay(), DAY.plusDays(1), 6, false);
+
+        // Doctor 3's 09:00 is booked on the first day only; equal times go to the lower doctor id
+        assertThat(earliest).containsExactly(
+            new FreeSlot(1L, at(DAY, 9)), new FreeSlot(2L, at(DAY, 10)), new FreeSlot(1L, at(DAY, 11)),
+            new FreeSlot(3L, at(DAY, 12)), new FreeSlot(1L, at(DAY.plusDays(1), 9)), new FreeSlot(3L, at(DAY.plusDays(1), 9)));
+    }
+
+    @Test
+    void findEarliestStartsAtFromAndStopsAtUntil() {
+        slots(1L, 9, 11);
+        slots(2L, 10);
+        engine.rebuild();
+
+        List<FreeSlot> earliest = engine.findEarliest(List.of(1L, 2L), at(DAY, 10), DAY, 10, false);
+
+        assertThat(earliest).containsExactly(new FreeSlot(2L, at(DAY, 10)), new FreeSlot(1L, at(DAY, 11)));
+    }
+
+    @Test
+    void findEarliestOnePerDoctor() {
+        slots(1L, 9, 11);
+        slots(2L, 10);
+        slots(3L, 12);
+        engine.rebuild();
+
+        assertThat(engine.findEarliest(List.of(1L, 2L, 3L), DAY.atStartOfDay(), DAY.plusDays(7), 2, true))
+            .containsExactly(new FreeSlot(1L, at(DAY, 9)), new FreeSlot(2L, at(DAY, 10)));
+        assertThat(engine.findEarliest(List.of(1L, 2L, 3L), DAY.atStartOfDay(), DAY.plusDays(7), 5, true))
+            .containsExactly(new FreeSlot(1L, at(DAY, 9)), new FreeSlot(2L, at(DAY, 10)), new FreeSlot(3L, at(DAY, 12)));
+    }
+
+    private void slots(Long doctorId, int... hours) {
+        for (int hour : hours) {
+            slots.add(new Object[]{doctorId, LocalTime.of(hour, 0)});
+        }
+    }
+
+    private static Object[] row(Long doctorId, LocalDateTime at) {
+        return new Object[]{doctorId, at};
+    }
+
+    private static LocalDateTime at(LocalDate date, int hour) {
+        return date.atTime(hour, 0);
+    }
+}
@@ -0,0 +1,53 @@
+package com.shiba.medical.service;
+
+import com.shiba.medical.service.AppointmentService.PageCursor;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// The keyset cursor handed to clients: opaque, URL-safe, and decoded back to the exact position
+class PageCursorTest {
+
+    @Test
+    void roundTripsWholeMinutesAndFractions() {
+        for (LocalDateTime date : new LocalDateTime[]{
+                LocalDateTime.of(2030, 6, 1, 9, 0),
+                LocalDateTime.of(2030, 6, 1, 9, 0, 17),
+                LocalDateTime.of(2030, 6, 1, 9, 0, 17, 123_456_000)}) {
+            PageCursor cursor = new PageCursor(date, 42L);
+
+            assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+        }
+    }
+
+    @Test
+    void roundTripsTheInitialUpperBound() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+        assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodesUrlSafeWithoutPadding() {
+        String encoded = new PageCursor(LocalDateTime.of(2030, 6, 1, 9, 0), 1L).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        String noSeparator = Base64.getUrlEncoder().encodeToString("2030-06-01T09:00".getBytes(StandardCharsets.UTF_8));
+        String badId = Base64.getUrlEncoder().encodeToString("2030-06-01T09:00|x".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : new String[]{"not base64!", noSeparator, badId}) {
+            assertThatThrownBy(() -> PageCursor.decode(cursor))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Invalid cursor");
+        }
+    }
+}
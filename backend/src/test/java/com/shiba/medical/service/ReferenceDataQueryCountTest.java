@@ -0,0 +1,87 @@
+package com.shiba.medical.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shiba.medical.dto.DoctorDTO;
+import com.shiba.medical.dto.MedicalFieldDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The doctor and field read models are single constructor-expression queries: one statement
+// however many rows, and no lazy proxy is touched while building them. The endpoints serve the
+// ReferenceDataCache snapshot, so its rebuild is held to one statement per list as well.
+@DataJpaTest
+@ActiveProfiles("hibernate-stats")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({DoctorService.class, MedicalFieldService.class, ReferenceDataCache.class})
+class ReferenceDataQueryCountTest {
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private MedicalFieldService medicalFieldService;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void allDoctorsIsOneStatement() {
+        List<DoctorDTO> doctors = doctorService.getAllDoctors();
+
+        assertThat(doctors).isNotEmpty();
+        assertThat(doctors).allSatisfy(doctor -> assertThat(doctor.getMedicalFieldName()).isNotBlank());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void snapshotRebuildIsOneStatementPerList() throws Exception {
+        referenceDataCache.rebuild();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        // Per-field lists are cut from the same doctor list, not queried again
+        Long fieldId = doctorService.getAllDoctors().get(0).getMedicalFieldId();
+        List<DoctorDTO> doctors = objectMapper.readValue(referenceDataCache.doctorsByField(fieldId).body(),
+            new TypeReference<List<DoctorDTO>>() { });
+        assertThat(doctors).isNotEmpty().allSatisfy(doctor -> assertThat(doctor.getMedicalFieldId()).isEqualTo(fieldId));
+    }
+
+    @Test
+    void allMedicalFieldsIsOneStatement() {
+        List<MedicalFieldDTO> fields = medicalFieldService.getAllMedicalFields();
+
+        assertThat(fields).isNotEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,99 @@
+package com.shiba.medical.service;
+
+import com.shiba.medical.model.ScheduleException.ExceptionType;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Weekly templates, legacy time_slots and dated exceptions folded into one schedule
+class WeeklyScheduleTest {
+    private static final LocalDate MONDAY = LocalDate.of(2030, 6, 3);
+    private static final LocalDate NEXT_MONDAY = MONDAY.plusWeeks(1);
+    private static final LocalDate SUNDAY = MONDAY.plusDays(6);
+
+    private final WeeklySchedule.Interner interner = new WeeklySchedule.Interner();
+
+    @Test
+    void expandKeepsOnlySlotsThatFitBeforeTheEnd() {
+        assertThat(WeeklySchedule.expand(LocalTime.of(9, 0), LocalTime.of(10, 45), 30))
+            .containsExactly(LocalTime.of(9, 0), LocalTime.of(9, 30), LocalTime.of(10, 0));
+    }
+
+    @Test
+    void legacySlotsApplyEveryDayWithoutATemplate() {
+        WeeklySchedule schedule = new WeeklySchedule.Builder(interner)
+            .legacySlot(LocalTime.of(14, 0))
+            .legacySlot(LocalTime.of(9, 0))
+            .build();
+
+        assertThat(schedule.slotsFor(MONDAY)).containsExactly(LocalTime.of(9, 0), LocalTime.of(14, 0));
+        assertThat(schedule.slotsFor(SUNDAY)).containsExactly(LocalTime.of(9, 0), LocalTime.of(14, 0));
+    }
+
+    @Test
+    void templateReplacesLegacySlotsAndLeavesOtherDaysEmpty() {
+        WeeklySchedule schedule = mondayMornings()
+            .legacySlot(LocalTime.of(14, 0))
+            .build();
+
+        assertThat(schedule.slotsFor(MONDAY)).containsExactly(
+            LocalTime.of(9, 0), LocalTime.of(9, 30), LocalTime.of(10, 0), LocalTime.of(10, 30));
+        assertThat(schedule.slotsFor(SUNDAY)).isEmpty();
+    }
+
+    @Test
+    void fullDayClosureEmptiesOnlyThatDate() {
+        WeeklySchedule schedule = mondayMornings()
+            .exception(MONDAY, ExceptionType.CLOSED, null, null, null)
+            .build();
+
+        assertThat(schedule.slotsFor(MONDAY)).isEmpty();
+        assertThat(schedule.slotsFor(NEXT_MONDAY)).hasSize(4);
+    }
+
+    @Test
+    void partialClosureRemovesStartsInsideTheRange() {
+        WeeklySchedule schedule = mondayMornings()
+            .exception(MONDAY, ExceptionType.CLOSED, LocalTime.of(9, 30), LocalTime.of(10, 30), null)
+            .build();
+
+        assertThat(schedule.slotsFor(MONDAY)).containsExactly(LocalTime.of(9, 0), LocalTime.of(10, 30));
+    }
+
+    @Test
+    void extraClinicOpensADayOff() {
+        WeeklySchedule schedule = mondayMornings()
+            .exception(SUNDAY, ExceptionType.EXTRA, LocalTime.of(14, 0), LocalTime.of(15, 0), 20)
+            .build();
+
+        assertThat(schedule.slotsFor(SUNDAY)).containsExactly(LocalTime.of(14, 0), LocalTime.of(14, 20), LocalTime.of(14, 40));
+        assertThat(schedule.slotsFor(SUNDAY.plusWeeks(1))).isEmpty();
+    }
+
+    @Test
+    void extraClinicStillOpensOnAClosedDay() {
+        // Added in the reverse order on purpose: closures apply first whatever the order
+        WeeklySchedule schedule = mondayMornings()
+            .exception(MONDAY, ExceptionType.EXTRA, LocalTime.of(16, 0), LocalTime.of(17, 0), 30)
+            .exception(MONDAY, ExceptionType.CLOSED, null, null, null)
+            .build();
+
+        assertThat(schedule.slotsFor(MONDAY)).containsExactly(LocalTime.of(16, 0), LocalTime.of(16, 30));
+    }
+
+    @Test
+    void identicalDaysShareOneArray() {
+        WeeklySchedule first = mondayMornings().build();
+        WeeklySchedule second = mondayMornings().build();
+
+        assertThat(second.slotsFor(MONDAY)).isSameAs(first.slotsFor(MONDAY));
+    }
+
+    private WeeklySchedule.Builder mondayMornings() {
+        return new WeeklySchedule.Builder(interner).weekly(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(11, 0), 30);
+    }
+}
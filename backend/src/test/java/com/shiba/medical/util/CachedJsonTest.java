@@ -0,0 +1,58 @@
+package com.shiba.medical.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// If-None-Match parsing per RFC 9110: lists, weak validators and the wildcard
+class CachedJsonTest {
+    private final CachedJson json = CachedJson.of("[1,2,3]".getBytes(StandardCharsets.UTF_8));
+    private final String tag = json.eTag();
+
+    @Test
+    void matchesItsOwnTagStrongOrWeak() {
+        assertThat(json.matches(tag)).isTrue();
+        assertThat(json.matches("W/" + tag)).isTrue();
+        assertThat(json.matches("  " + tag + " ")).isTrue();
+    }
+
+    @Test
+    void matchesAnywhereInAList() {
+        assertThat(json.matches("\"other\", W/" + tag)).isTrue();
+        assertThat(json.matches("W/\"a\",\"b\"," + tag)).isTrue();
+        assertThat(json.matches("\"other\", W/\"another\"")).isFalse();
+    }
+
+    @Test
+    void commasInsideATagDoNotSplitIt() {
+        String quoted = tag.substring(1, tag.length() - 1);
+        assertThat(json.matches("\"x," + quoted + "\"")).isFalse();
+        assertThat(json.matches("\"x,y\", " + tag)).isTrue();
+    }
+
+    @Test
+    void wildcardMatchesAnyRepresentation() {
+        assertThat(json.matches("*")).isTrue();
+        assertThat(json.matches(" * ")).isTrue();
+    }
+
+    @Test
+    void missingOrMalformedHeadersGetTheBody() {
+        assertThat(json.matches(null)).isFalse();
+        assertThat(json.matches("")).isFalse();
+        assertThat(json.matches(tag.substring(1, tag.length() - 1))).isFalse();
+        assertThat(json.matches("W/")).isFalse();
+        assertThat(json.matches("\"unterminated")).isFalse();
+    }
+
+    @Test
+    void answersAMatchWith304AndNoBody() {
+        assertThat(json.toResponse("W/" + tag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(json.toResponse("W/" + tag).getBody()).isNull();
+        assertThat(json.toResponse(null).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(json.toResponse(null).getBody()).isEqualTo(json.body());
+    }
+}
@@ -0,0 +1,63 @@
+package com.shiba.medical.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Ranking buckets (exact, prefix, word prefix, substring, secondary text), alphabetical within
+// a bucket, for both the single-posting (up to three characters) and trigram paths
+class NgramIndexTest {
+    private final NgramIndex<String> index = NgramIndex.<String>builder()
+        .add("neurology", "Neurology", "Brain, nerves; works with cardiology on strokes")
+        .add("pediatric-cardiology", "Pediatric Cardiology", "")
+        .add("electrocardiography", "Electrocardiography", "")
+        .add("cardiology", "Cardiology", "Heart")
+        .add("cardiac-surgery", "Cardiac Surgery", "")
+        .add("cardio", "Cardio", null)
+        .add("dermatology", "Dermatology", "Skin")
+        .build();
+
+    @Test
+    void ranksExactThenPrefixThenWordPrefixThenSubstringThenSecondary() {
+        assertThat(index.search("cardio", 10)).containsExactly(
+            "cardio", "cardiology", "pediatric-cardiology", "electrocardiography", "neurology");
+    }
+
+    @Test
+    void keepsEachBucketAlphabetical() {
+        assertThat(index.search("cardi", 10)).containsExactly(
+            "cardiac-surgery", "cardio", "cardiology", "pediatric-cardiology", "electrocardiography", "neurology");
+    }
+
+    @Test
+    void shortQueriesUseTheSamePostingsAndRanking() {
+        assertThat(index.search("car", 3)).containsExactly("cardiac-surgery", "cardio", "cardiology");
+        assertThat(index.search("y", 10)).containsExactly(
+            "cardiac-surgery", "cardiology", "dermatology", "electrocardiography", "neurology", "pediatric-cardiology");
+    }
+
+    @Test
+    void normalizesCaseAndSurroundingWhitespace() {
+        assertThat(index.search("  CARDIOLOGY ", 10)).containsExactly("cardiology", "pediatric-cardiology", "neurology");
+    }
+
+    @Test
+    void limitCutsAcrossBuckets() {
+        assertThat(index.search("cardio", 2)).containsExactly("cardio", "cardiology");
+        assertThat(index.search("cardio", 0)).isEmpty();
+    }
+
+    @Test
+    void noMatchesWhenAnyTrigramIsMissingOrTheTextDoesNotContainTheQuery() {
+        assertThat(index.search("cardiox", 10)).isEmpty();
+        // Cardiology has every trigram of "heard" across "heart" and its name, but not the word
+        assertThat(index.search("heard", 10)).isEmpty();
+    }
+
+    @Test
+    void emptyQueryListsItemsAlphabetically() {
+        assertThat(index.search("", 3)).containsExactly("cardiac-surgery", "cardio", "cardiology");
+        assertThat(index.search(null, 1)).containsExactly("cardiac-surgery");
+        assertThat(index.size()).isEqualTo(7);
+    }
+}
@@ -0,0 +1,84 @@
+package com.shiba.medical.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// GCRA bookkeeping on the real clock; the refill rates are slow enough that nothing refills
+// between back-to-back calls, and the sleeps leave a wide margin past one emission interval
+class TokenBucketLimiterTest {
+
+    @Test
+    void allowsABurstOfCapacityThenRefuses() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, 1, 100);
+
+        assertThat(limiter.tryAcquire("a")).isTrue();
+        assertThat(limiter.tryAcquire("a")).isTrue();
+        assertThat(limiter.tryAcquire("a")).isTrue();
+        assertThat(limiter.tryAcquire("a")).isFalse();
+        assertThat(limiter.tryAcquire("a")).isFalse();
+    }
+
+    @Test
+    void keysHaveTheirOwnBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 100);
+
+        assertThat(limiter.tryAcquire("a")).isTrue();
+        assertThat(limiter.tryAcquire("a")).isFalse();
+        assertThat(limiter.tryAcquire("b")).isTrue();
+    }
+
+    @Test
+    void refillsOneTokenPerEmissionInterval() throws InterruptedException {
+        // 600 a minute is one every 100ms
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 600, 100);
+        assertThat(limiter.tryAcquire("a")).isTrue();
+        assertThat(limiter.tryAcquire("a")).isFalse();
+
+        Thread.sleep(250);
+
+        assertThat(limiter.tryAcquire("a")).isTrue();
+        assertThat(limiter.tryAcquire("a")).isFalse();
+    }
+
+    @Test
+    void refusedRequestsDoNotPushBackTheRefill() throws InterruptedException {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 600, 100);
+        assertThat(limiter.tryAcquire("a")).isTrue();
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.tryAcquire("a")).isFalse();
+        }
+
+        Thread.sleep(250);
+
+        assertThat(limiter.tryAcquire("a")).isTrue();
+    }
+
+    @Test
+    void failsClosedForNewKeysWhenFull() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 1, 2);
+        assertThat(limiter.tryAcquire("a")).isTrue();
+        assertThat(limiter.tryAcquire("b")).isTrue();
+
+        assertThat(limiter.tryAcquire("c")).isFalse();
+        assertThat(limiter.size()).isEqualTo(2);
+        // Keys already tracked keep their own budget
+        assertThat(limiter.tryAcquire("a")).isTrue();
+    }
+
+    @Test
+    void evictIdleKeepsBucketsStillRefillingAndFreesRoom() throws InterruptedException {
+        TokenBucketLimiter slow = new TokenBucketLimiter(2, 1, 1);
+        slow.tryAcquire("a");
+        slow.evictIdle();
+        assertThat(slow.size()).isEqualTo(1);
+        assertThat(slow.tryAcquire("b")).isFalse();
+
+        TokenBucketLimiter fast = new TokenBucketLimiter(1, 600, 1);
+        fast.tryAcquire("a");
+        Thread.sleep(250);
+        fast.evictIdle();
+        assertThat(fast.size()).isZero();
+        assertThat(fast.tryAcquire("b")).isTrue();
+    }
+}
@@ -30,7 +30,7 @@ const SearchBar = () => {
   };
 
   const handleDoctorClick = (doctor) => {
-    navigate(`/booking?doctorId=${doctor.id}&fieldId=${doctor.medicalField.id}`);
+    navigate(`/booking?doctorId=${doctor.id}&fieldId=${doctor.medicalFieldId}`);
     setShowResults(false);
     setQuery('');
   };
@@ -77,7 +77,7 @@ const SearchBar = () => {
                   onClick={() => handleDoctorClick(doctor)}
                 >
                   <strong>{doctor.name}</strong>
-                  <span>{doctor.medicalField.name}</span>
+                  <span>{doctor.medicalFieldName}</span>
                   {doctor.experienceYears && (
                     <span className="experience">{doctor.experienceYears} years exp.</span>
                   )}
@@ -12,6 +12,7 @@ const Appointments = () => {
   const navigate = useNavigate();
   const [searchParams, setSearchParams] = useSearchParams();
   const [appointments, setAppointments] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const [loading, setLoading] = useState(true);
   const [filter, setFilter] = useState('all'); // 'all', 'upcoming', 'past'
   const [showRescheduleModal, setShowRescheduleModal] = useState(false);
@@ -49,12 +50,13 @@ const Appointments = () => {
       let response;
       if (filter === 'upcoming') {
         response = await appointmentsAPI.getUpcoming();
-      } else if (filter === 'past') {
-        response = await appointmentsAPI.getPast();
+        setAppointments(response.data);
+        setNextCursor(null);
       } else {
-        response = await appointmentsAPI.getAll();
+        response = filter === 'past' ? await appointmentsAPI.getPast() : await appointmentsAPI.getAll();
+        setAppointments(response.data.items);
+        setNextCursor(response.data.nextCursor);
       }
-      setAppointments(response.data);
     } catch (error) {
       console.error('Error loading appointments:', error);
     } finally {
@@ -62,6 +64,18 @@ const Appointments = () => {
     }
   }, [filter]);
 
+  const loadMore = async () => {
+    try {
+      const response = filter === 'past'
+        ? await appointmentsAPI.getPast(nextCursor)
+        : await appointmentsAPI.getAll(nextCursor);
+      setAppointments((current) => [...current, ...response.data.items]);
+      setNextCursor(response.data.nextCursor);
+    } catch (error) {
+      console.error('Error loading more appointments:', error);
+    }
+  };
+
   useEffect(() => {
     loadAppointments();
   }, [loadAppointments]);
@@ -242,6 +256,12 @@ const Appointments = () => {
             ))}
           </div>
         )}
+
+        {nextCursor && (
+          <button className="btn btn-secondary load-more" onClick={loadMore}>
+            Load more
+          </button>
+        )}
       </div>
 
       {showRescheduleModal && selectedAppointment && (
@@ -16,6 +16,7 @@ const Booking = () => {
   const [medicalFields, setMedicalFields] = useState([]);
   const [selectedField, setSelectedField] = useState(null);
   const [doctors, setDoctors] = useState([]);
+  const [earliestSlots, setEarliestSlots] = useState([]);
   const [selectedDoctor, setSelectedDoctor] = useState(null);
   const [selectedDate, setSelectedDate] = useState('');
   const [availableSlots, setAvailableSlots] = useState([]);
@@ -41,6 +42,17 @@ const Booking = () => {
     }
   }, [selectedField]);
 
+  const loadEarliestSlots = useCallback(async () => {
+    if (!selectedField) return;
+    try {
+      const response = await timeSlotsAPI.getFirstAvailable(selectedField);
+      setEarliestSlots(response.data);
+    } catch (error) {
+      // Optional shortcut; the doctor list still works without it
+      setEarliestSlots([]);
+    }
+  }, [selectedField]);
+
   const loadTimeSlots = useCallback(async () => {
     if (!selectedDoctor || !selectedDate) return;
     try {
@@ -58,8 +70,9 @@ const Booking = () => {
   useEffect(() => {
     if (selectedField) {
       loadDoctors();
+      loadEarliestSlots();
     }
-  }, [selectedField, loadDoctors]);
+  }, [selectedField, loadDoctors, loadEarliestSlots]);
 
   useEffect(() => {
     if (selectedDoctor && selectedDate) {
@@ -67,6 +80,16 @@ const Booking = () => {
     }
   }, [selectedDoctor, selectedDate, loadTimeSlots]);
 
+  // Keep the slot list current while the patient is choosing, instead of failing on submit
+  useEffect(() => {
+    if (step !== 3 || !selectedDoctor || !selectedDate) return undefined;
+    return timeSlotsAPI.subscribe(selectedDoctor, selectedDate, (update) => {
+      const slots = update.availableSlots[selectedDate] || [];
+      setAvailableSlots(slots);
+      setSelectedSlot((current) => (current && !slots.includes(current) ? '' : current));
+    });
+  }, [step, selectedDoctor, selectedDate]);
+
   const handleNext = () => {
     setError('');
     if (step === 1 && !selectedField) {
@@ -101,6 +124,14 @@ const Booking = () => {
     setStep(step + 1);
   };
 
+  const handlePickEarliest = (slot) => {
+    setError('');
+    setSelectedDoctor(slot.doctorId);
+    setSelectedDate(slot.slot.slice(0, 10));
+    setSelectedSlot(slot.slot.slice(11));
+    setStep(3);
+  };
+
   const handleBack = () => {
     setError('');
     setStep(step - 1);
@@ -188,6 +219,22 @@ const Booking = () => {
           {step === 2 && (
             <div className="booking-step">
               <h2>Select Doctor</h2>
+              {earliestSlots.length > 0 && (
+                <div className="form-group">
+                  <label>Earliest Available</label>
+                  <div className="earliest-list">
+                    {earliestSlots.map((slot) => (
+                      <button
+                        key={`${slot.doctorId}-${slot.slot}`}
+                        className="slot-btn"
+                        onClick={() => handlePickEarliest(slot)}
+                      >
+                        {slot.doctorName} &middot; {formatDate(slot.slot.slice(0, 10))} {slot.slot.slice(11, 16)}
+                      </button>
+                    ))}
+                  </div>
+                </div>
+              )}
               <div className="doctors-list">
                 {doctors.map((doctor) => (
                   <div
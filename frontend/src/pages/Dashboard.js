@@ -27,7 +27,7 @@ const Dashboard = () => {
       ]);
       
       setUpcomingAppointments(Array.isArray(upcomingRes.data) ? upcomingRes.data : []);
-      setPastAppointments(Array.isArray(pastRes.data) ? pastRes.data : []);
+      setPastAppointments(Array.isArray(pastRes.data?.items) ? pastRes.data.items : []);
       setMedicalFields(Array.isArray(fieldsRes.data) ? fieldsRes.data : []);
     } catch (error) {
       console.error('Error loading dashboard:', error);
@@ -27,7 +27,7 @@ const Login = () => {
     if (result.success) {
       setOtpCode(result.otp);
       setStep('otp');
-      setSuccess(`OTP sent! Your OTP is: ${result.otp}`);
+      setSuccess(result.otp ? `OTP sent! Your OTP is: ${result.otp}` : 'OTP sent!');
     } else {
       setError(result.error);
     }
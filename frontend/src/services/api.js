@@ -55,9 +55,9 @@ export const doctorsAPI = {
 
 // Appointments APIs
 export const appointmentsAPI = {
-  getAll: () => api.get('/appointments'),
+  getAll: (cursor) => api.get('/appointments', { params: { cursor } }),
   getUpcoming: () => api.get('/appointments/upcoming'),
-  getPast: () => api.get('/appointments/past'),
+  getPast: (cursor) => api.get('/appointments/past', { params: { cursor } }),
   create: (data) => api.post('/appointments', data),
   cancel: (id) => api.put(`/appointments/${id}/cancel`),
   reschedule: (id, newDate) => api.put(`/appointments/${id}/reschedule`, { newDate }),
@@ -67,6 +67,16 @@ export const appointmentsAPI = {
 export const timeSlotsAPI = {
   getAvailable: (doctorId, date) => 
     api.get(`/time-slots?doctorId=${doctorId}&date=${date}`),
+  getRange: ({ doctorIds, fieldId, from, to }) =>
+    api.get('/time-slots/range', { params: { doctorIds: doctorIds?.join(','), fieldId, from, to } }),
+  getFirstAvailable: (fieldId, limit = 5) =>
+    api.get('/time-slots/first-available', { params: { fieldId, limit } }),
+  // Live updates of one doctor-day; returns a function that closes the stream
+  subscribe: (doctorId, date, onSlots) => {
+    const source = new EventSource(`${API_BASE_URL}/time-slots/stream?doctorId=${doctorId}&date=${date}`);
+    source.addEventListener('slots', (event) => onSlots(JSON.parse(event.data)));
+    return () => source.close();
+  },
 };
 
 // Search API